@@ -0,0 +1,48 @@
+package net.runelite.client.plugins.inferno;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.inject.Singleton;
+import net.runelite.api.NPC;
+import net.runelite.client.plugins.kotoriutils.ReflectionLibrary;
+
+/**
+ * The current animation of every NPC in the arena, kept up to date from {@code AnimationChanged} events. The animation
+ * is only read through reflection when it changes, or the first time an NPC is looked up, rather than for every NPC on
+ * every tick. Entries are dropped when the NPC despawns and the store is cleared when the player leaves the Inferno.
+ */
+@Singleton
+class InfernoAnimationStore
+{
+	private final Map<NPC, Integer> animations = new HashMap<>();
+
+	void onAnimationChanged(NPC npc)
+	{
+		animations.put(npc, ReflectionLibrary.getNpcAnimationId(npc));
+	}
+
+	void onNpcDespawned(NPC npc)
+	{
+		animations.remove(npc);
+	}
+
+	int getAnimation(NPC npc)
+	{
+		final Integer animation = animations.get(npc);
+
+		if (animation != null)
+		{
+			return animation;
+		}
+
+		// An NPC which hasn't changed animation since it was first seen
+		final int animationId = ReflectionLibrary.getNpcAnimationId(npc);
+		animations.put(npc, animationId);
+		return animationId;
+	}
+
+	void reset()
+	{
+		animations.clear();
+	}
+}
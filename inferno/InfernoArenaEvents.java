@@ -0,0 +1,81 @@
+package net.runelite.client.plugins.inferno;
+
+import net.runelite.api.events.ActorDeath;
+import net.runelite.api.events.AnimationChanged;
+import net.runelite.api.events.BeforeRender;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.ClientTick;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.HitsplatApplied;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * The events {@link InfernoPlugin} only needs inside the Inferno. It is registered on the event bus when the player
+ * enters the region and unregistered when they leave, so the plugin doesn't see ticks, animations, hits, spawns or
+ * chat anywhere else.
+ */
+class InfernoArenaEvents
+{
+	private final InfernoPlugin plugin;
+
+	InfernoArenaEvents(InfernoPlugin plugin)
+	{
+		this.plugin = plugin;
+	}
+
+	@Subscribe
+	private void onGameTick(GameTick event)
+	{
+		plugin.onGameTick();
+	}
+
+	@Subscribe
+	private void onClientTick(ClientTick event)
+	{
+		plugin.onClientTick();
+	}
+
+	@Subscribe
+	private void onBeforeRender(BeforeRender event)
+	{
+		plugin.onBeforeRender();
+	}
+
+	@Subscribe
+	private void onNpcSpawned(NpcSpawned event)
+	{
+		plugin.onNpcSpawned(event.getNpc());
+	}
+
+	@Subscribe
+	private void onNpcDespawned(NpcDespawned event)
+	{
+		plugin.onNpcDespawned(event.getNpc());
+	}
+
+	@Subscribe
+	private void onHitsplatApplied(HitsplatApplied event)
+	{
+		plugin.onHitsplatApplied(event.getActor());
+	}
+
+	@Subscribe
+	private void onAnimationChanged(AnimationChanged event)
+	{
+		plugin.onAnimationChanged(event.getActor());
+	}
+
+	@Subscribe
+	private void onChatMessage(ChatMessage event)
+	{
+		plugin.onChatMessage(event);
+	}
+
+	@Subscribe
+	private void onActorDeath(ActorDeath event)
+	{
+		plugin.onActorDeath(event.getActor());
+	}
+}
@@ -0,0 +1,22 @@
+package net.runelite.client.plugins.inferno;
+
+/**
+ * Read only view of the arena on the current tick, the only input of {@link InfernoEngineCore}. NPCs are addressed by
+ * their position in the view, their location is the south west tile of the NPC.
+ */
+interface InfernoArenaView
+{
+	int getPlayerX();
+
+	int getPlayerY();
+
+	int getNpcCount();
+
+	int getNpcId(int npc);
+
+	int getNpcX(int npc);
+
+	int getNpcY(int npc);
+
+	int getNpcSize(int npc);
+}
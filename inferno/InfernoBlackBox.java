@@ -0,0 +1,219 @@
+package net.runelite.client.plugins.inferno;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.NPC;
+import net.runelite.api.Prayer;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.kotoriutils.methods.NPCInteractions;
+
+/**
+ * Keeps the last {@link #CAPACITY} ticks in the Inferno: the arena, the published prayer recommendation, the upcoming
+ * attack timeline and the time every stage of the tick took. Ticks are written into preallocated primitive arrays
+ * which are overwritten in a ring, so keeping them costs no allocations of its own.
+ *
+ * <p>{@link #dump(String)} writes the ticks as a recording with the engine section of every tick filled in, which
+ * {@link InfernoReplay} prints tick by tick.
+ */
+@Slf4j
+@Singleton
+class InfernoBlackBox
+{
+	static final int CAPACITY = 200;
+	// NPCs kept per tick, the Inferno never holds this many including the pillars
+	private static final int MAX_NPCS = 64;
+	// Ticks ahead kept of the upcoming attack timeline
+	private static final int TIMELINE_TICKS = 16;
+
+	private static final InfernoNPC.Attack[] ATTACKS = InfernoNPC.Attack.values();
+	private static final InfernoTickProfiler.Stage[] STAGES = InfernoTickProfiler.Stage.values();
+
+	private final Client client;
+	private final InfernoAnimationStore animationStore;
+	private final InfernoTickProfiler tickProfiler;
+	private final InfernoPrayerChannel prayerChannel;
+
+	private final int[] ticks = new int[CAPACITY];
+	private final int[] waves = new int[CAPACITY];
+	private final int[] playerX = new int[CAPACITY];
+	private final int[] playerY = new int[CAPACITY];
+	private final int[] planes = new int[CAPACITY];
+	private final long[] activePrayers = new long[CAPACITY];
+	private final int[] recommendedPrayers = new int[CAPACITY];
+	private final int[] closestAttacks = new int[CAPACITY];
+
+	private final int[] npcCounts = new int[CAPACITY];
+	private final int[] npcIds = new int[CAPACITY * MAX_NPCS];
+	private final int[] npcIndices = new int[CAPACITY * MAX_NPCS];
+	private final int[] npcX = new int[CAPACITY * MAX_NPCS];
+	private final int[] npcY = new int[CAPACITY * MAX_NPCS];
+	private final int[] npcAnimations = new int[CAPACITY * MAX_NPCS];
+	private final int[] npcHealthRatios = new int[CAPACITY * MAX_NPCS];
+	private final int[] npcHealthScales = new int[CAPACITY * MAX_NPCS];
+
+	// Bit n of an entry is set when ATTACKS[n] is upcoming on that tick
+	private final int[] timeline = new int[CAPACITY * TIMELINE_TICKS];
+	private final long[] stageNanos = new long[CAPACITY * STAGES.length];
+
+	// The slot the next tick is written to, and the amount of ticks kept
+	private int head;
+	private int size;
+
+	@Inject
+	InfernoBlackBox(final Client client, final InfernoAnimationStore animationStore, final InfernoTickProfiler tickProfiler,
+		final InfernoPrayerChannel prayerChannel)
+	{
+		this.client = client;
+		this.animationStore = animationStore;
+		this.tickProfiler = tickProfiler;
+		this.prayerChannel = prayerChannel;
+	}
+
+	/**
+	 * Must be called once the tick has ended, so the timings of all its stages are known.
+	 */
+	void recordTick(int wave, Map<Integer, Map<InfernoNPC.Attack, Integer>> upcomingAttacks, InfernoNPC.Attack closestAttack)
+	{
+		final int slot = head;
+		final WorldPoint playerLocation = client.getLocalPlayer().getWorldLocation();
+
+		ticks[slot] = client.getTickCount();
+		waves[slot] = wave;
+		playerX[slot] = playerLocation.getX();
+		playerY[slot] = playerLocation.getY();
+		planes[slot] = playerLocation.getPlane();
+		activePrayers[slot] = InfernoTickRecord.prayerMask(client);
+
+		final Prayer recommendedPrayer = InfernoPrayerChannel.getPrayer(prayerChannel.getSnapshot());
+		recommendedPrayers[slot] = recommendedPrayer == null ? 0 : recommendedPrayer.ordinal() + 1;
+		closestAttacks[slot] = closestAttack == null ? 0 : closestAttack.ordinal() + 1;
+
+		int npcCount = 0;
+		int npcOffset = slot * MAX_NPCS;
+
+		for (NPC npc : NPCInteractions.getNpcs())
+		{
+			if (npcCount == MAX_NPCS)
+			{
+				break;
+			}
+
+			final WorldPoint location = npc.getWorldLocation();
+			npcIds[npcOffset] = npc.getId();
+			npcIndices[npcOffset] = npc.getIndex();
+			npcX[npcOffset] = location.getX();
+			npcY[npcOffset] = location.getY();
+			npcAnimations[npcOffset] = animationStore.getAnimation(npc);
+			npcHealthRatios[npcOffset] = npc.getHealthRatio();
+			npcHealthScales[npcOffset] = npc.getHealthScale();
+			npcCount++;
+			npcOffset++;
+		}
+
+		npcCounts[slot] = npcCount;
+
+		for (int t = 0; t < TIMELINE_TICKS; t++)
+		{
+			final Map<InfernoNPC.Attack, Integer> attackPriority = upcomingAttacks.get(t + 1);
+			int attacks = 0;
+
+			if (attackPriority != null)
+			{
+				for (InfernoNPC.Attack attack : ATTACKS)
+				{
+					if (attackPriority.containsKey(attack))
+					{
+						attacks |= 1 << attack.ordinal();
+					}
+				}
+			}
+
+			timeline[slot * TIMELINE_TICKS + t] = attacks;
+		}
+
+		for (InfernoTickProfiler.Stage stage : STAGES)
+		{
+			stageNanos[slot * STAGES.length + stage.ordinal()] = tickProfiler.getTickNanos(stage);
+		}
+
+		head = (head + 1) % CAPACITY;
+		size = Math.min(size + 1, CAPACITY);
+	}
+
+	/**
+	 * Writes the kept ticks, oldest first, to a new recording.
+	 *
+	 * @param reason appended to the name of the recording
+	 */
+	void dump(String reason)
+	{
+		if (size == 0)
+		{
+			log.info("Inferno black box is empty, nothing to dump");
+			return;
+		}
+
+		final File file = InfernoTickRecorder.newRecordingFile("_" + reason);
+		final InfernoTickRecord record = new InfernoTickRecord();
+		record.ensureNpcCapacity(MAX_NPCS);
+		record.ensureTimelineCapacity(TIMELINE_TICKS);
+		record.ensureStageCapacity(STAGES.length);
+
+		InfernoTickRecorder.RECORDING_DIR.mkdirs();
+
+		try (InfernoTickWriter writer = new InfernoTickWriter(file))
+		{
+			for (int i = 0; i < size; i++)
+			{
+				final int slot = (head - size + i + CAPACITY) % CAPACITY;
+				copyTo(slot, record);
+				writer.write(record);
+			}
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to dump the Inferno black box to {}", file, ex);
+			return;
+		}
+
+		log.info("Dumped the last {} Inferno ticks to {}", size, file);
+	}
+
+	void reset()
+	{
+		head = 0;
+		size = 0;
+	}
+
+	private void copyTo(int slot, InfernoTickRecord record)
+	{
+		record.clear();
+		record.tick = ticks[slot];
+		record.wave = waves[slot];
+		record.playerX = playerX[slot];
+		record.playerY = playerY[slot];
+		record.plane = planes[slot];
+		record.activePrayers = activePrayers[slot];
+
+		final int npcOffset = slot * MAX_NPCS;
+
+		for (int i = 0; i < npcCounts[slot]; i++)
+		{
+			record.addNpc(npcIds[npcOffset + i], npcIndices[npcOffset + i], npcX[npcOffset + i], npcY[npcOffset + i],
+				npcAnimations[npcOffset + i], npcHealthRatios[npcOffset + i], npcHealthScales[npcOffset + i]);
+		}
+
+		record.engineRecorded = true;
+		record.recommendedPrayer = recommendedPrayers[slot];
+		record.closestAttack = closestAttacks[slot];
+		System.arraycopy(timeline, slot * TIMELINE_TICKS, record.timeline, 0, TIMELINE_TICKS);
+		record.timelineLength = TIMELINE_TICKS;
+		System.arraycopy(stageNanos, slot * STAGES.length, record.stageNanos, 0, STAGES.length);
+		record.stageCount = STAGES.length;
+	}
+}
@@ -26,7 +26,7 @@ class InfernoBlobDeathSpot
 	{
 		this.location = location;
 		this.ticksUntilDone = BLOB_DEATH_TICKS;
-		this.deathTime = System.currentTimeMillis();
+		this.deathTime = System.nanoTime();
 	}
 
 	void decrementTick()
@@ -42,13 +42,13 @@ class InfernoBlobDeathSpot
 		return ticksUntilDone == 0;
 	}
 
-	double fillProgress()
+	double fillProgress(InfernoFrameClock frameClock)
 	{
-		return (System.currentTimeMillis() - deathTime) / ((BLOB_DEATH_TICKS - 1) * 600.0);
+		return frameClock.ticksSince(deathTime) / (BLOB_DEATH_TICKS - 1);
 	}
 
-	int fillAlpha()
+	int fillAlpha(InfernoFrameClock frameClock)
 	{
-		return Math.min(Math.max((int) ((1 - fillProgress()) * FILL_START_ALPHA), 0), 255);
+		return Math.min(Math.max((int) ((1 - fillProgress(frameClock)) * FILL_START_ALPHA), 0), 255);
 	}
 }
@@ -0,0 +1,68 @@
+package net.runelite.client.plugins.inferno;
+
+import java.util.List;
+import net.runelite.api.NPC;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * {@link InfernoArenaView} over the live client, reused every tick.
+ */
+class InfernoClientArenaView implements InfernoArenaView
+{
+	private WorldPoint playerLocation;
+	private List<InfernoNPC> infernoNpcs;
+
+	InfernoClientArenaView update(WorldPoint playerLocation, List<InfernoNPC> infernoNpcs)
+	{
+		this.playerLocation = playerLocation;
+		this.infernoNpcs = infernoNpcs;
+		return this;
+	}
+
+	@Override
+	public int getPlayerX()
+	{
+		return playerLocation.getX();
+	}
+
+	@Override
+	public int getPlayerY()
+	{
+		return playerLocation.getY();
+	}
+
+	@Override
+	public int getNpcCount()
+	{
+		return infernoNpcs.size();
+	}
+
+	@Override
+	public int getNpcId(int npc)
+	{
+		return getNpc(npc).getId();
+	}
+
+	@Override
+	public int getNpcX(int npc)
+	{
+		return getNpc(npc).getWorldLocation().getX();
+	}
+
+	@Override
+	public int getNpcY(int npc)
+	{
+		return getNpc(npc).getWorldLocation().getY();
+	}
+
+	@Override
+	public int getNpcSize(int npc)
+	{
+		return getNpc(npc).getComposition().getSize();
+	}
+
+	private NPC getNpc(int npc)
+	{
+		return infernoNpcs.get(npc).getNpc();
+	}
+}
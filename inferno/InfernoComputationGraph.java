@@ -0,0 +1,123 @@
+package net.runelite.client.plugins.inferno;
+
+import java.util.function.Predicate;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.client.plugins.inferno.displaymodes.InfernoPrayerDisplayMode;
+import net.runelite.client.plugins.inferno.displaymodes.InfernoSafespotDisplayMode;
+
+/**
+ * Which computations of the game tick are read by an enabled output. Every {@link Output} names the computations it
+ * reads, every {@link Computation} the computations it is built from, and {@link #rebuild()} resolves the outputs
+ * enabled in the config to the set of computations the tick has to run.
+ *
+ * <p>The pass over the NPCs which advances their attack cycles isn't part of the graph, everything reads the attack
+ * cycles. The prayer recommendation is published to other plugins regardless of the config, so its
+ * {@link Output#RECOMMENDATION} is always enabled.
+ */
+@Singleton
+class InfernoComputationGraph
+{
+	enum Computation
+	{
+		OBSTACLES,
+		PLAYER_SAFESPOT(OBSTACLES),
+		SAFESPOTS(PLAYER_SAFESPOT),
+		SAFESPOT_AREAS(SAFESPOTS),
+		UPCOMING_ATTACKS,
+		CLOSEST_ATTACK(UPCOMING_ATTACKS),
+		CENTRAL_NIBBLER,
+		BLOB_DEATH_LOCATIONS;
+
+		private final int mask;
+
+		Computation(Computation... dependencies)
+		{
+			int mask = 1 << ordinal();
+
+			// Dependencies are declared before their dependents, so their masks are already transitive
+			for (Computation dependency : dependencies)
+			{
+				mask |= dependency.mask;
+			}
+
+			this.mask = mask;
+		}
+	}
+
+	enum Output
+	{
+		RECOMMENDATION(config -> true, Computation.PLAYER_SAFESPOT),
+		PRAYER_HELPER(config -> isPrayerTab(config.prayerDisplayMode()), Computation.CLOSEST_ATTACK),
+		DESCENDING_BOXES(config -> isPrayerTab(config.prayerDisplayMode()) && config.descendingBoxes(), Computation.UPCOMING_ATTACKS),
+		SAFESPOTS(config -> config.safespotDisplayMode() != InfernoSafespotDisplayMode.OFF, Computation.SAFESPOTS),
+		SAFESPOT_AREAS(config -> config.safespotDisplayMode() == InfernoSafespotDisplayMode.AREA, Computation.SAFESPOT_AREAS),
+		OBSTACLES(InfernoConfig::indicateObstacles, Computation.OBSTACLES),
+		TEMPORARY_SAFESPOTTED(InfernoConfig::indicateTemporarySafespotted, Computation.OBSTACLES),
+		CENTRAL_NIBBLER(InfernoConfig::indicateCentralNibbler, Computation.CENTRAL_NIBBLER),
+		BLOB_DEATH_LOCATIONS(InfernoConfig::indicateBlobDeathLocation, Computation.BLOB_DEATH_LOCATIONS),
+		ENGINE_TRACE(InfernoConfig::writeEngineTrace, Computation.UPCOMING_ATTACKS);
+
+		private final Predicate<InfernoConfig> enabled;
+		private final int mask;
+
+		Output(Predicate<InfernoConfig> enabled, Computation... reads)
+		{
+			int mask = 0;
+
+			for (Computation computation : reads)
+			{
+				mask |= computation.mask;
+			}
+
+			this.enabled = enabled;
+			this.mask = mask;
+		}
+	}
+
+	private static final Output[] OUTPUTS = Output.values();
+
+	private final InfernoConfig config;
+
+	private int required;
+
+	@Inject
+	InfernoComputationGraph(final InfernoConfig config)
+	{
+		this.config = config;
+	}
+
+	/**
+	 * Must be called whenever the config of the plugin changed.
+	 */
+	void rebuild()
+	{
+		int required = 0;
+
+		for (Output output : OUTPUTS)
+		{
+			if (output.enabled.test(config))
+			{
+				required |= output.mask;
+			}
+		}
+
+		this.required = required;
+	}
+
+	boolean isRequired(Computation computation)
+	{
+		return (required & 1 << computation.ordinal()) != 0;
+	}
+
+	int getRequiredCount()
+	{
+		return Integer.bitCount(required);
+	}
+
+	private static boolean isPrayerTab(InfernoPrayerDisplayMode prayerDisplayMode)
+	{
+		return prayerDisplayMode == InfernoPrayerDisplayMode.PRAYER_TAB
+			|| prayerDisplayMode == InfernoPrayerDisplayMode.BOTH;
+	}
+}
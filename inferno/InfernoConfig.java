@@ -140,6 +140,13 @@ public interface InfernoConfig extends Config
 	)
 	String ZukHealersSection = "Zuk Healers";
 
+	@ConfigSection(
+		name = "Performance",
+		description = "Configuration options for Performance",
+		position = 14
+	)
+	String PerformanceSection = "Performance";
+
 
 	@ConfigItem(
 		position = 0,
@@ -213,6 +220,14 @@ public interface InfernoConfig extends Config
 		return InfernoSafespotDisplayMode.AREA;
 	}
 
+	int SAFESPOTS_CHECK_SIZE_DEFAULT = 6;
+	// InfernoTileCache.SIZE holds a 16x16 area around the player, raising this past 15 makes cached tiles collide
+	int SAFESPOTS_CHECK_SIZE_MAX = 15;
+
+	@Range(
+		min = 1,
+		max = SAFESPOTS_CHECK_SIZE_MAX
+	)
 	@ConfigItem(
 		position = 5,
 		keyName = "safespotsCheckSize",
@@ -222,7 +237,7 @@ public interface InfernoConfig extends Config
 	)
 	default int safespotsCheckSize()
 	{
-		return 6;
+		return SAFESPOTS_CHECK_SIZE_DEFAULT;
 	}
 
 	@ConfigItem(
@@ -902,6 +917,220 @@ public interface InfernoConfig extends Config
 		return false;
 	}
 
+	@ConfigItem(
+		position = 0,
+		keyName = "adaptiveDetail",
+		name = "Adaptive Detail",
+		description = "Automatically lower the detail of the overlays when they take longer than the frame budget to draw: " +
+			"first dashed lines become solid, then safespot areas are only filled and finally obstacles are hidden",
+		section = PerformanceSection
+	)
+	default boolean adaptiveDetail()
+	{
+		return false;
+	}
+
+	@Range(
+		min = 1,
+		max = 16
+	)
+	@ConfigItem(
+		position = 1,
+		keyName = "frameBudget",
+		name = "Frame Budget (ms)",
+		description = "The amount of milliseconds the Inferno overlay may take per frame before its detail is lowered",
+		section = PerformanceSection
+	)
+	default int frameBudget()
+	{
+		return 4;
+	}
+
+	@ConfigItem(
+		position = 2,
+		keyName = "debugOverlay",
+		name = "Debug Overlay",
+		description = "Show the current overlay detail level, the game tick stage timings and cache counters",
+		section = PerformanceSection
+	)
+	default boolean debugOverlay()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		position = 3,
+		keyName = "logTickTimings",
+		name = "Log Tick Timings",
+		description = "Periodically log the p50/p99/max time of every stage of the game tick, per minute and per wave",
+		section = PerformanceSection
+	)
+	default boolean logTickTimings()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		position = 4,
+		keyName = "runEngineBenchmark",
+		name = "Run Engine Benchmark",
+		description = "Benchmark the safespot engine at the default and maximum check size on the next tick inside the Inferno " +
+			"without any NPC alive, such as between waves. The results are written to the client log and the option turns " +
+			"itself off again.",
+		section = PerformanceSection
+	)
+	default boolean runEngineBenchmark()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		position = 5,
+		keyName = "runRenderBenchmark",
+		name = "Run Render Benchmark",
+		description = "Benchmark every Inferno overlay on the next tick inside the Inferno using the current display modes. " +
+			"The results are written to the client log and the option turns itself off again.",
+		section = PerformanceSection
+	)
+	default boolean runRenderBenchmark()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		position = 6,
+		keyName = "recordTicks",
+		name = "Record Ticks",
+		description = "Write every tick spent in the Inferno to a recording in the inferno-recordings folder of the RuneLite directory.",
+		section = PerformanceSection
+	)
+	default boolean recordTicks()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		position = 7,
+		keyName = "syntheticSeed",
+		name = "Synthetic Seed",
+		description = "Seed of the synthetic runs, the same seed always generates the same runs.",
+		section = PerformanceSection
+	)
+	default int syntheticSeed()
+	{
+		return 1;
+	}
+
+	@ConfigItem(
+		position = 8,
+		keyName = "generateSyntheticRuns",
+		name = "Generate Synthetic Runs",
+		description = "Write a synthetic recording of all 69 waves and a stress recording with 20 nibblers and every other NPC type " +
+			"to the inferno-recordings folder. The option turns itself off again.",
+		section = PerformanceSection
+	)
+	default boolean generateSyntheticRuns()
+	{
+		return false;
+	}
+
+	@Range(
+		max = 4096
+	)
+	@ConfigItem(
+		position = 9,
+		keyName = "allocationBudget",
+		name = "Allocation Budget (KiB)",
+		description = "Measure the memory allocated by every stage of the game tick and every frame of the Inferno overlay, " +
+			"and log a warning when one of them allocates more than this. 0 disables the measurement",
+		section = PerformanceSection
+	)
+	default int allocationBudget()
+	{
+		return 0;
+	}
+
+	@ConfigItem(
+		position = 10,
+		keyName = "predictionScoreboard",
+		name = "Prediction Scoreboard",
+		description = "Compare the attack ticks predicted by the attack cycle and the animation based engines with the attacks seen, " +
+			"and show their hit rate, mean error in ticks and cost per NPC type",
+		section = PerformanceSection
+	)
+	default boolean predictionScoreboard()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		position = 11,
+		keyName = "writeEngineTrace",
+		name = "Write Engine Trace",
+		description = "Write the attacks, safespots and cost of every tick to the inferno-traces folder. " +
+			"The Kotori and Lucid Inferno plugins write the same trace when this is on",
+		section = PerformanceSection
+	)
+	default boolean writeEngineTrace()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		position = 12,
+		keyName = "compareEngineTraces",
+		name = "Compare Engine Traces",
+		description = "Compare the newest trace of every Inferno plugin tick by tick and write the cost of each engine " +
+			"and the ticks on which they disagree to the client log. The option turns itself off again.",
+		section = PerformanceSection
+	)
+	default boolean compareEngineTraces()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+		position = 13,
+		keyName = "deferSecondaryStages",
+		name = "Defer Secondary Stages",
+		description = "Only publish the prayer recommendation on the game tick, and calculate the safespots, obstacles " +
+			"and nibblers right before the next frame is drawn or at the end of the client tick instead",
+		section = PerformanceSection
+	)
+	default boolean deferSecondaryStages()
+	{
+		return true;
+	}
+
+	@Range(
+		max = 16
+	)
+	@ConfigItem(
+		position = 14,
+		keyName = "safespotBudget",
+		name = "Safespot Budget (ms)",
+		description = "The amount of milliseconds the safespots may take per tick or frame. The tiles closest to the player are " +
+			"calculated first, the rest continue on the next frames and are shown in grey until then. 0 calculates them all at once",
+		section = PerformanceSection
+	)
+	default int safespotBudget()
+	{
+		return 2;
+	}
+
+	@ConfigItem(
+		position = 15,
+		keyName = "dumpBlackBox",
+		name = "Dump Black Box",
+		description = "Write the last 200 ticks in the Inferno to the inferno-recordings folder. " +
+			"This happens by itself when you die, the option turns itself off again.",
+		section = PerformanceSection
+	)
+	default boolean dumpBlackBox()
+	{
+		return false;
+	}
+
 	@Getter
 	@AllArgsConstructor
 	enum FontStyle
@@ -0,0 +1,119 @@
+package net.runelite.client.plugins.inferno;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.PanelComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+@Singleton
+public class InfernoDebugOverlay extends Overlay
+{
+	private final InfernoLodController lodController;
+	private final InfernoTickProfiler tickProfiler;
+	private final InfernoPrayerChannel prayerChannel;
+	private final InfernoComputationGraph computationGraph;
+	private final PanelComponent panelComponent = new PanelComponent();
+
+	@Inject
+	private InfernoDebugOverlay(final InfernoLodController lodController, final InfernoTickProfiler tickProfiler,
+		final InfernoPrayerChannel prayerChannel, final InfernoComputationGraph computationGraph)
+	{
+		this.lodController = lodController;
+		this.tickProfiler = tickProfiler;
+		this.prayerChannel = prayerChannel;
+		this.computationGraph = computationGraph;
+		setPosition(OverlayPosition.TOP_LEFT);
+		panelComponent.setPreferredSize(new Dimension(220, 0));
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		panelComponent.getChildren().clear();
+
+		panelComponent.getChildren().add(TitleComponent.builder()
+			.text("Inferno Debug")
+			.color(Color.ORANGE)
+			.build());
+
+		panelComponent.getChildren().add(LineComponent.builder()
+			.left("Detail")
+			.right(lodController.getLevel().toString())
+			.rightColor(lodController.getLevel() == InfernoLodController.Level.FULL ? Color.GREEN : Color.ORANGE)
+			.build());
+
+		panelComponent.getChildren().add(LineComponent.builder()
+			.left("Overlay")
+			.right(formatMillis(lodController.getAverageRenderNanos()))
+			.build());
+
+		panelComponent.getChildren().add(TitleComponent.builder()
+			.text("Tick p50 / p99 / max (ms)")
+			.color(Color.ORANGE)
+			.build());
+
+		for (InfernoTickProfiler.Stage stage : InfernoTickProfiler.Stage.values())
+		{
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left(stage.toString())
+				.right(String.format("%.2f / %.2f / %.2f",
+					tickProfiler.getP50(stage) / 1_000_000.0,
+					tickProfiler.getP99(stage) / 1_000_000.0,
+					tickProfiler.getMax(stage) / 1_000_000.0))
+				.build());
+		}
+
+		final long cacheHits = tickProfiler.getCount(InfernoTickProfiler.Counter.SAFESPOT_CACHE_HIT);
+		final long cacheMisses = tickProfiler.getCount(InfernoTickProfiler.Counter.SAFESPOT_CACHE_MISS);
+
+		panelComponent.getChildren().add(LineComponent.builder()
+			.left("Cache hit/miss")
+			.right(cacheHits + " / " + cacheMisses
+				+ (cacheHits + cacheMisses > 0 ? " (" + cacheHits * 100 / (cacheHits + cacheMisses) + "%)" : ""))
+			.build());
+
+		panelComponent.getChildren().add(LineComponent.builder()
+			.left("Cache evict/invalidate")
+			.right(tickProfiler.getCount(InfernoTickProfiler.Counter.SAFESPOT_CACHE_EVICTION) + " / "
+				+ tickProfiler.getCount(InfernoTickProfiler.Counter.SAFESPOT_CACHE_INVALIDATION))
+			.build());
+
+		panelComponent.getChildren().add(LineComponent.builder()
+			.left("LOS checks")
+			.right(Long.toString(tickProfiler.getCount(InfernoTickProfiler.Counter.LOS_CHECK)))
+			.build());
+
+		panelComponent.getChildren().add(LineComponent.builder()
+			.left("Prayer latency")
+			.right(formatMillis(prayerChannel.getLastLatencyNanos()) + " / " + formatMillis(prayerChannel.getMaxLatencyNanos()))
+			.build());
+
+		panelComponent.getChildren().add(LineComponent.builder()
+			.left("Computations")
+			.right(computationGraph.getRequiredCount() + " / " + InfernoComputationGraph.Computation.values().length)
+			.build());
+
+		final long tickAllocated = tickProfiler.getMaxAllocated(InfernoTickProfiler.Stage.TOTAL);
+
+		if (tickAllocated > 0)
+		{
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left("Max alloc tick/frame")
+				.right(tickAllocated / 1024 + " / " + tickProfiler.getMaxRenderAllocated() / 1024 + " KiB")
+				.build());
+		}
+
+		return panelComponent.render(graphics);
+	}
+
+	static String formatMillis(long nanos)
+	{
+		return String.format("%.2f ms", nanos / 1_000_000.0);
+	}
+}
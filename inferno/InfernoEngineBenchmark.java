@@ -0,0 +1,116 @@
+package net.runelite.client.plugins.inferno;
+
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * On demand benchmark of the safespot and threat engine. It runs inside the client on the current arena, so the
+ * numbers come from the real Inferno collision data and NPC positions of whatever wave the player is on.
+ * Results are written to the client log as ops/s and bytes allocated per operation.
+ */
+@Slf4j
+@Singleton
+class InfernoEngineBenchmark
+{
+	private static final int WARMUP_ITERATIONS = 20;
+	private static final int MEASURED_ITERATIONS = 200;
+
+	private final Client client;
+
+	@Inject
+	InfernoEngineBenchmark(final Client client)
+	{
+		this.client = client;
+	}
+
+	/**
+	 * Must be called on the client thread, before the plugin calculates the safespots of the tick, as the safespot
+	 * map is overwritten while benchmarking. The plugin only calls it while no NPC can attack the player, as the
+	 * benchmark stalls the client thread for many ticks.
+	 */
+	void run(InfernoPlugin plugin)
+	{
+		final List<InfernoNPC> infernoNpcs = plugin.getInfernoNpcs();
+		final List<WorldPoint> obstacles = plugin.getObstacles();
+		final WorldPoint playerLocation = client.getLocalPlayer().getWorldLocation();
+
+		log.info("Inferno engine benchmark: wave {}, {} npcs, {} obstacle tiles",
+			plugin.getCurrentWaveNumber(), infernoNpcs.size(), obstacles.size());
+
+		for (int checkSize : new int[]{InfernoConfig.SAFESPOTS_CHECK_SIZE_DEFAULT, InfernoConfig.SAFESPOTS_CHECK_SIZE_MAX})
+		{
+			measure("engine benchmark", "calculateSafespots (check size " + checkSize + ")", () ->
+			{
+				infernoNpcs.forEach(InfernoNPC::clearSafeSpotCache);
+				plugin.getSafeSpotMap().clear();
+				plugin.calculateNormalSafespots(checkSize);
+			});
+
+			final int halfSize = checkSize / 2;
+
+			measure("engine benchmark", "InfernoNPC.canAttack (check size " + checkSize + ")", () ->
+			{
+				for (InfernoNPC infernoNPC : infernoNpcs)
+				{
+					infernoNPC.clearSafeSpotCache();
+
+					for (int x = -halfSize; x <= halfSize; x++)
+					{
+						for (int y = -halfSize; y <= halfSize; y++)
+						{
+							infernoNPC.canAttack(client, playerLocation.dx(x).dy(y));
+						}
+					}
+				}
+			});
+
+			measure("engine benchmark", "InfernoNPC.canMoveToAttack (check size " + checkSize + ")", () ->
+			{
+				for (InfernoNPC infernoNPC : infernoNpcs)
+				{
+					infernoNPC.clearSafeSpotCache();
+
+					for (int x = -halfSize; x <= halfSize; x++)
+					{
+						for (int y = -halfSize; y <= halfSize; y++)
+						{
+							infernoNPC.canMoveToAttack(client, playerLocation.dx(x).dy(y), obstacles);
+						}
+					}
+				}
+			});
+		}
+
+		infernoNpcs.forEach(InfernoNPC::clearSafeSpotCache);
+		plugin.getSafeSpotMap().clear();
+	}
+
+	static void measure(String benchmark, String name, Runnable operation)
+	{
+		for (int i = 0; i < WARMUP_ITERATIONS; i++)
+		{
+			operation.run();
+		}
+
+		final long startBytes = InfernoTickProfiler.getAllocatedBytes();
+		final long start = System.nanoTime();
+
+		for (int i = 0; i < MEASURED_ITERATIONS; i++)
+		{
+			operation.run();
+		}
+
+		final long elapsed = System.nanoTime() - start;
+		final long allocated = InfernoTickProfiler.getAllocatedBytes() - startBytes;
+
+		log.info("Inferno {}: {}: {} ops/s, {} bytes/op",
+			benchmark,
+			name,
+			String.format("%.1f", MEASURED_ITERATIONS / (elapsed / 1_000_000_000.0)),
+			startBytes < 0 ? "n/a" : Long.toString(allocated / MEASURED_ITERATIONS));
+	}
+}
@@ -0,0 +1,187 @@
+package net.runelite.client.plugins.inferno;
+
+/**
+ * Tick logic which only depends on an {@link InfernoArenaView}, without any client types, so it can be moved out of
+ * the plugin and shared by the Inferno plugin variants one calculation at a time.
+ */
+final class InfernoEngineCore
+{
+	// Jal-Nib
+	static final int NIBBLER_ID = 7691;
+	// Rocky support, the pillars use both ids
+	static final int PILLAR_ID = 7709;
+	static final int PILLAR_ID_7710 = 7710;
+	static final int PILLAR_SIZE = 3;
+
+	private InfernoEngineCore()
+	{
+	}
+
+	/**
+	 * Finds the nibbler with the most nibblers within one tile of it, itself included, and the closest one to the
+	 * player of those.
+	 *
+	 * @return the position of the nibbler in the view, or -1 if there are no nibblers
+	 */
+	static int findCentralNibbler(InfernoArenaView arena)
+	{
+		int bestNibbler = -1;
+		int bestAmountInArea = 0;
+		int bestDistanceToPlayer = 999;
+
+		for (int i = 0; i < arena.getNpcCount(); i++)
+		{
+			if (arena.getNpcId(i) != NIBBLER_ID)
+			{
+				continue;
+			}
+
+			int amountInArea = 0;
+			final int distanceToPlayer = distance(arena.getNpcX(i), arena.getNpcY(i), 1,
+				arena.getPlayerX(), arena.getPlayerY(), 1);
+
+			for (int j = 0; j < arena.getNpcCount(); j++)
+			{
+				if (arena.getNpcId(j) != NIBBLER_ID
+					|| distance(arena.getNpcX(j), arena.getNpcY(j), arena.getNpcSize(j),
+						arena.getNpcX(i), arena.getNpcY(i), arena.getNpcSize(i)) > 1)
+				{
+					continue;
+				}
+
+				amountInArea++;
+			}
+
+			if (amountInArea > bestAmountInArea
+				|| (amountInArea == bestAmountInArea && distanceToPlayer < bestDistanceToPlayer))
+			{
+				bestNibbler = i;
+				bestAmountInArea = amountInArea;
+				bestDistanceToPlayer = distanceToPlayer;
+			}
+		}
+
+		return bestNibbler;
+	}
+
+	/**
+	 * @return the width and height in tiles of an NPC of the Inferno, for views which only know the NPC's id
+	 */
+	static int getNpcSize(int npcId)
+	{
+		if (npcId == PILLAR_ID || npcId == PILLAR_ID_7710)
+		{
+			return PILLAR_SIZE;
+		}
+
+		final InfernoNPC.Type type = InfernoNPC.Type.typeFromId(npcId);
+		return type == null ? 1 : type.getSize();
+	}
+
+	/**
+	 * @return the Chebyshev distance between the closest tiles of the two squares
+	 */
+	static int distance(int x1, int y1, int size1, int x2, int y2, int size2)
+	{
+		return Math.max(axisDistance(x1, size1, x2, size2), axisDistance(y1, size1, y2, size2));
+	}
+
+	/**
+	 * @return whether the first square can hit the second with melee, which it can't diagonally
+	 */
+	static boolean isInMeleeDistance(int x1, int y1, int size1, int x2, int y2, int size2)
+	{
+		return axisDistance(x1, size1, x2, size2) + axisDistance(y1, size1, y2, size2) == 1;
+	}
+
+	/**
+	 * The step an NPC takes towards a target, following the NPC travelling pattern the plugin predicts movement with
+	 * through {@code WorldAreaExtended.calculateNextTravellingPoint}, stopping in melee distance of the target. The
+	 * collision data of the arena is only known to the client, so only the tiles {@code blocked} reports stop the NPC,
+	 * like the obstacles {@link InfernoNPC#canMoveToAttack} passes to the client's version.
+	 *
+	 * @return the south west tile of the NPC after the step, packed as {@code x << 16 | y}
+	 */
+	static int nextTravellingPoint(int x, int y, int size, int targetX, int targetY, int targetSize, TileBlocker blocked)
+	{
+		final int stay = x << 16 | y;
+		final int axisX = axisDistance(x, size, targetX, targetSize);
+		final int axisY = axisDistance(y, size, targetY, targetSize);
+
+		// Movement is unpredictable when the NPC stands on top of the target, and there's no need to move in melee
+		// distance
+		if ((axisX == 0 && axisY == 0) || axisX + axisY == 1)
+		{
+			return stay;
+		}
+
+		final int dx = targetX - x;
+		final int dy = targetY - y;
+		final int dxSig = Integer.signum(dx);
+		final int dySig = Integer.signum(dy);
+
+		if (axisX == 1 && axisY == 1)
+		{
+			// Standing diagonally from the target the NPC only tries to travel along the x axis
+			return canTravel(x, y, size, dxSig, 0, blocked) ? x + dxSig << 16 | y : stay;
+		}
+
+		if (canTravel(x, y, size, dxSig, dySig, blocked))
+		{
+			return x + dxSig << 16 | y + dySig;
+		}
+
+		if (dx != 0 && canTravel(x, y, size, dxSig, 0, blocked))
+		{
+			return x + dxSig << 16 | y;
+		}
+
+		// NPCs don't try to travel along the y axis if the target is within a tile
+		if (dy != 0 && Math.max(Math.abs(dx), Math.abs(dy)) > 1 && canTravel(x, y, size, 0, dySig, blocked))
+		{
+			return x << 16 | y + dySig;
+		}
+
+		return stay;
+	}
+
+	/**
+	 * @return whether none of the tiles the square moves onto are blocked. A diagonal step also needs both of its
+	 * straight steps to be free.
+	 */
+	private static boolean canTravel(int x, int y, int size, int dx, int dy, TileBlocker blocked)
+	{
+		if (dx != 0 && dy != 0 && (!canTravel(x, y, size, dx, 0, blocked) || !canTravel(x, y, size, 0, dy, blocked)))
+		{
+			return false;
+		}
+
+		for (int tileX = x + dx; tileX < x + dx + size; tileX++)
+		{
+			for (int tileY = y + dy; tileY < y + dy + size; tileY++)
+			{
+				final boolean covered = tileX >= x && tileX < x + size && tileY >= y && tileY < y + size;
+
+				if (!covered && blocked.isBlocked(tileX, tileY))
+				{
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return the amount of tiles between the closest rows or columns of the two squares on one axis, 0 if they overlap
+	 */
+	private static int axisDistance(int a, int sizeA, int b, int sizeB)
+	{
+		return Math.max(0, Math.max(a - (b + sizeB - 1), b - (a + sizeA - 1)));
+	}
+
+	interface TileBlocker
+	{
+		boolean isBlocked(int x, int y);
+	}
+}
@@ -0,0 +1,18 @@
+package net.runelite.client.plugins.inferno;
+
+import javax.inject.Singleton;
+import net.runelite.client.plugins.infernoshared.EngineTraceWriter;
+
+/**
+ * The {@link EngineTraceWriter} of this plugin, which writes {@link InfernoNPC.Attack} as the attack type. They are compared with {@link InfernoTraceComparison}.
+ */
+@Singleton
+class InfernoEngineTrace extends EngineTraceWriter
+{
+	static final String VARIANT = "inferno";
+
+	InfernoEngineTrace()
+	{
+		super(VARIANT);
+	}
+}
@@ -0,0 +1,139 @@
+package net.runelite.client.plugins.inferno;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder events of the plugin, so a {@code jcmd <pid> JFR.start} session shows the Inferno tick stages,
+ * overlay render passes and prayer recommendations next to GC and safepoints. Every method first checks whether its
+ * event is enabled, which is a single field read, so nothing is allocated or timed while JFR isn't recording.
+ */
+final class InfernoFlightRecorder
+{
+	private static final EventType TICK_STAGE = EventType.getEventType(TickStageEvent.class);
+	private static final EventType RENDER_PASS = EventType.getEventType(RenderPassEvent.class);
+	private static final EventType PRAYER_RECOMMENDATION = EventType.getEventType(PrayerRecommendationEvent.class);
+
+	private InfernoFlightRecorder()
+	{
+	}
+
+	static boolean isTickStageEnabled()
+	{
+		return TICK_STAGE.isEnabled();
+	}
+
+	/**
+	 * JFR can't backdate an event, so the stage is committed when it ends and carries its duration as a field.
+	 */
+	static void tickStage(InfernoTickProfiler.Stage stage, long nanos, int wave, int npcCount, int checkSize)
+	{
+		final TickStageEvent event = new TickStageEvent();
+		event.stage = stage.toString();
+		event.stageDuration = nanos;
+		event.wave = wave;
+		event.npcCount = npcCount;
+		event.checkSize = checkSize;
+		event.commit();
+	}
+
+	static boolean isRenderPassEnabled()
+	{
+		return RENDER_PASS.isEnabled();
+	}
+
+	/**
+	 * @return the start of a render pass to be passed to {@link #endRenderPass(String, long)}, or -1 if the event is
+	 * disabled
+	 */
+	static long startRenderPass()
+	{
+		return RENDER_PASS.isEnabled() ? System.nanoTime() : -1;
+	}
+
+	static void endRenderPass(String overlay, long start)
+	{
+		if (start >= 0)
+		{
+			renderPass(overlay, System.nanoTime() - start);
+		}
+	}
+
+	static void renderPass(String overlay, long nanos)
+	{
+		final RenderPassEvent event = new RenderPassEvent();
+		event.overlay = overlay;
+		event.renderDuration = nanos;
+		event.commit();
+	}
+
+	static void prayerRecommendation(String prayer, int wave)
+	{
+		if (!PRAYER_RECOMMENDATION.isEnabled())
+		{
+			return;
+		}
+
+		final PrayerRecommendationEvent event = new PrayerRecommendationEvent();
+		event.prayer = prayer;
+		event.wave = wave;
+		event.commit();
+	}
+
+	@Name("net.runelite.inferno.TickStage")
+	@Label("Inferno Tick Stage")
+	@Category({"RuneLite", "Inferno"})
+	@StackTrace(false)
+	static final class TickStageEvent extends Event
+	{
+		@Label("Stage")
+		String stage;
+
+		@Label("Stage Duration")
+		@Timespan(Timespan.NANOSECONDS)
+		long stageDuration;
+
+		@Label("Wave")
+		int wave;
+
+		@Label("NPC Count")
+		int npcCount;
+
+		@Label("Safespot Check Size")
+		int checkSize;
+	}
+
+	@Name("net.runelite.inferno.RenderPass")
+	@Label("Inferno Render Pass")
+	@Category({"RuneLite", "Inferno"})
+	@StackTrace(false)
+	static final class RenderPassEvent extends Event
+	{
+		@Label("Overlay")
+		String overlay;
+
+		@Label("Render Duration")
+		@Timespan(Timespan.NANOSECONDS)
+		long renderDuration;
+	}
+
+	@Name("net.runelite.inferno.PrayerRecommendation")
+	@Label("Inferno Prayer Recommendation")
+	@Description("The recommended protection prayer changed")
+	@Category({"RuneLite", "Inferno"})
+	@StackTrace(false)
+	static final class PrayerRecommendationEvent extends Event
+	{
+		@Label("Prayer")
+		String prayer;
+
+		@Label("Wave")
+		int wave;
+	}
+}
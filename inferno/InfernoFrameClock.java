@@ -0,0 +1,99 @@
+package net.runelite.client.plugins.inferno;
+
+import javax.inject.Singleton;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Shared clock for sub-tick animations. The time is sampled once per frame and the length of a game tick
+ * is learned from the most recent {@code GameTick} timestamps, so overlays interpolate against the real
+ * server tick rate instead of assuming exactly 600ms.
+ */
+@Singleton
+class InfernoFrameClock
+{
+	private static final long DEFAULT_TICK_NANOS = 600_000_000L;
+	// Intervals outside of this range are lag spikes or login gaps and are not used to learn the tick period
+	private static final long MIN_TICK_NANOS = 300_000_000L;
+	private static final long MAX_TICK_NANOS = 1_200_000_000L;
+	private static final int TICK_HISTORY_SIZE = 8;
+
+	private final long[] tickIntervals = new long[TICK_HISTORY_SIZE];
+	private int tickIntervalIndex;
+	private int tickIntervalCount;
+	private long tickIntervalSum;
+
+	@Getter(AccessLevel.PACKAGE)
+	private long lastTickNanos;
+
+	@Getter(AccessLevel.PACKAGE)
+	private long tickPeriodNanos = DEFAULT_TICK_NANOS;
+
+	@Getter(AccessLevel.PACKAGE)
+	private long frameNanos;
+
+	void onGameTick()
+	{
+		final long now = System.nanoTime();
+
+		if (lastTickNanos != 0)
+		{
+			final long interval = now - lastTickNanos;
+
+			if (interval >= MIN_TICK_NANOS && interval <= MAX_TICK_NANOS)
+			{
+				if (tickIntervalCount == TICK_HISTORY_SIZE)
+				{
+					tickIntervalSum -= tickIntervals[tickIntervalIndex];
+				}
+				else
+				{
+					tickIntervalCount++;
+				}
+
+				tickIntervals[tickIntervalIndex] = interval;
+				tickIntervalSum += interval;
+				tickIntervalIndex = (tickIntervalIndex + 1) % TICK_HISTORY_SIZE;
+				tickPeriodNanos = tickIntervalSum / tickIntervalCount;
+			}
+		}
+
+		lastTickNanos = now;
+		frameNanos = now;
+	}
+
+	void onBeforeRender()
+	{
+		frameNanos = System.nanoTime();
+	}
+
+	/**
+	 * @return how far the current frame is into the current game tick, between 0 and 1
+	 */
+	double getTickProgress()
+	{
+		if (lastTickNanos == 0)
+		{
+			return 0;
+		}
+
+		return Math.min(Math.max((frameNanos - lastTickNanos) / (double) tickPeriodNanos, 0), 1);
+	}
+
+	/**
+	 * @return the amount of game ticks that passed between the given time and the current frame
+	 */
+	double ticksSince(long nanos)
+	{
+		return (frameNanos - nanos) / (double) tickPeriodNanos;
+	}
+
+	void reset()
+	{
+		tickIntervalIndex = 0;
+		tickIntervalCount = 0;
+		tickIntervalSum = 0;
+		lastTickNanos = 0;
+		tickPeriodNanos = DEFAULT_TICK_NANOS;
+	}
+}
@@ -74,6 +74,7 @@ public class InfernoInfoBoxOverlay extends Overlay
 			return null;
 		}
 
+		final long start = InfernoFlightRecorder.startRenderPass();
 		imagePanelComponent.getChildren().clear();
 
 		if (plugin.getClosestAttack() != null)
@@ -90,7 +91,9 @@ public class InfernoInfoBoxOverlay extends Overlay
 			imagePanelComponent.setBackgroundColor(ComponentConstants.STANDARD_BACKGROUND_COLOR);
 		}
 
-		return imagePanelComponent.render(graphics);
+		final Dimension dimension = imagePanelComponent.render(graphics);
+		InfernoFlightRecorder.endRenderPass("InfernoInfoBoxOverlay", start);
+		return dimension;
 	}
 
 	private BufferedImage getPrayerImage(InfernoNPC.Attack attack)
@@ -0,0 +1,125 @@
+package net.runelite.client.plugins.inferno;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Lowers the level of detail of the Inferno overlay when its render pass keeps exceeding the configured frame
+ * budget, and raises it again once there is enough headroom.
+ */
+@Singleton
+class InfernoLodController
+{
+	// Frames the average has to stay over budget before stepping down
+	private static final int STEP_DOWN_FRAMES = 30;
+	// Frames the average has to stay under the headroom before stepping back up
+	private static final int STEP_UP_FRAMES = 300;
+	private static final double HEADROOM = 0.5;
+
+	enum Level
+	{
+		FULL("Full"),
+		SOLID_LINES("Solid lines"),
+		AREA_FILLS("Area fills"),
+		NO_OBSTACLES("No obstacles");
+
+		private final String name;
+
+		Level(String name)
+		{
+			this.name = name;
+		}
+
+		@Override
+		public String toString()
+		{
+			return name;
+		}
+	}
+
+	private static final Level[] LEVELS = Level.values();
+
+	private final InfernoConfig config;
+
+	@Getter(AccessLevel.PACKAGE)
+	private Level level = Level.FULL;
+
+	@Getter(AccessLevel.PACKAGE)
+	private long averageRenderNanos;
+
+	private int overBudgetFrames;
+	private int underBudgetFrames;
+	private boolean paused;
+
+	@Inject
+	InfernoLodController(final InfernoConfig config)
+	{
+		this.config = config;
+	}
+
+	void recordRenderTime(long nanos)
+	{
+		if (paused)
+		{
+			return;
+		}
+
+		averageRenderNanos = averageRenderNanos == 0 ? nanos : averageRenderNanos + (nanos - averageRenderNanos) / 8;
+
+		if (!config.adaptiveDetail())
+		{
+			level = Level.FULL;
+			overBudgetFrames = 0;
+			underBudgetFrames = 0;
+			return;
+		}
+
+		final long budgetNanos = config.frameBudget() * 1_000_000L;
+
+		if (averageRenderNanos > budgetNanos)
+		{
+			underBudgetFrames = 0;
+
+			if (++overBudgetFrames >= STEP_DOWN_FRAMES && level.ordinal() < LEVELS.length - 1)
+			{
+				level = LEVELS[level.ordinal() + 1];
+				overBudgetFrames = 0;
+			}
+		}
+		else if (averageRenderNanos < budgetNanos * HEADROOM)
+		{
+			overBudgetFrames = 0;
+
+			if (++underBudgetFrames >= STEP_UP_FRAMES && level.ordinal() > 0)
+			{
+				level = LEVELS[level.ordinal() - 1];
+				underBudgetFrames = 0;
+			}
+		}
+		else
+		{
+			overBudgetFrames = 0;
+			underBudgetFrames = 0;
+		}
+	}
+
+	void setPaused(boolean paused)
+	{
+		this.paused = paused;
+	}
+
+	boolean isAtLeast(Level level)
+	{
+		return this.level.ordinal() >= level.ordinal();
+	}
+
+	void reset()
+	{
+		level = Level.FULL;
+		averageRenderNanos = 0;
+		overBudgetFrames = 0;
+		underBudgetFrames = 0;
+	}
+}
@@ -27,7 +27,6 @@ package net.runelite.client.plugins.inferno;
 import java.awt.Color;
 import java.util.*;
 
-import net.runelite.client.plugins.kotoriutils.ReflectionLibrary;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.api.Client;
@@ -69,19 +68,26 @@ public class InfernoNPC
 	private int idleTicks;
 	private int lastAnimation;
 	private boolean lastCanAttack;
-	//0 = not in LOS, 1 = in LOS after move, 2 = in LOS
-	private final Map<WorldPoint, Integer> safeSpotCache;
-
-	public InfernoNPC(NPC npc)
+	//0 = can't attack, 1 = can attack, kept until the pillars or the scene change
+	private final InfernoTileCache canAttackCache;
+	//0 = can't attack after moving, 1 = can attack after moving, kept until the obstacles change
+	private final InfernoTileCache canMoveToAttackCache;
+	private final InfernoTickProfiler profiler;
+	private final InfernoAnimationStore animationStore;
+
+	public InfernoNPC(NPC npc, InfernoTickProfiler profiler, InfernoAnimationStore animationStore)
 	{
 		this.npc = npc;
+		this.profiler = profiler;
+		this.animationStore = animationStore;
 		this.type = Type.typeFromId(npc.getId());
 		this.nextAttack = Objects.requireNonNull(type).getDefaultAttack();
 		this.ticksTillNextAttack = 0;
 		this.lastAnimation = -1;
 		this.lastCanAttack = false;
 		this.idleTicks = 0;
-		this.safeSpotCache = new HashMap<>();
+		this.canAttackCache = new InfernoTileCache();
+		this.canMoveToAttackCache = new InfernoTileCache();
 	}
 
 	public void updateNextAttack(Attack nextAttack, int ticksTillNextAttack)
@@ -96,32 +102,81 @@ public class InfernoNPC
 		this.nextAttack = nextAttack;
 	}
 
+	void clearSafeSpotCache()
+	{
+		canAttackCache.clear();
+		canMoveToAttackCache.clear();
+	}
+
+	/**
+	 * Keeps the cached answers while the NPC stands on the same tiles. Line of sight only depends on the pillars and
+	 * the scene, so the answers of {@link #canAttack} outlive the other NPCs moving around.
+	 */
+	private void validateSafeSpotCaches(int arenaVersion, int obstacleVersion)
+	{
+		final WorldArea area = this.getNpc().getWorldArea();
+		final long location = (long) (area.getWidth() & 0xF) << 32
+			| (long) (area.getPlane() & 0x3) << 30
+			| (long) (area.getY() & 0x7FFF) << 15
+			| area.getX() & 0x7FFF;
+
+		if (canAttackCache.validate((long) (arenaVersion & 0xFFFFFFF) << 36 | location))
+		{
+			profiler.increment(InfernoTickProfiler.Counter.SAFESPOT_CACHE_INVALIDATION);
+		}
+
+		if (canMoveToAttackCache.validate((long) (obstacleVersion & 0xFFFFFFF) << 36 | location))
+		{
+			profiler.increment(InfernoTickProfiler.Counter.SAFESPOT_CACHE_INVALIDATION);
+		}
+	}
+
+	private void cacheSafeSpot(InfernoTileCache cache, WorldPoint target, boolean value)
+	{
+		if (cache.put(target, value ? (byte) 1 : (byte) 0))
+		{
+			profiler.increment(InfernoTickProfiler.Counter.SAFESPOT_CACHE_EVICTION);
+		}
+	}
+
 	public boolean canAttack(Client client, WorldPoint target)
 	{
-		if (safeSpotCache.containsKey(target))
+		final byte cached = canAttackCache.get(target);
+
+		if (cached != InfernoTileCache.MISS)
 		{
-			return safeSpotCache.get(target) == 2;
+			profiler.increment(InfernoTickProfiler.Counter.SAFESPOT_CACHE_HIT);
+			return cached == 1;
 		}
 
+		profiler.increment(InfernoTickProfiler.Counter.SAFESPOT_CACHE_MISS);
+		profiler.increment(InfernoTickProfiler.Counter.LOS_CHECK);
 		boolean hasLos = new WorldArea(target, 1, 1).hasLineOfSightTo(client.getTopLevelWorldView(), this.getNpc().getWorldArea());
 		boolean hasRange = this.getType().getDefaultAttack() == Attack.MELEE ? this.getNpc().getWorldArea().isInMeleeDistance(target)
 				: this.getNpc().getWorldArea().distanceTo(target) <= this.getType().getRange();
 
-		if (hasLos && hasRange)
-		{
-			safeSpotCache.put(target, 2);
-		}
-
+		cacheSafeSpot(canAttackCache, target, hasLos && hasRange);
 		return hasLos && hasRange;
 	}
 
 	public boolean canMoveToAttack(Client client, WorldPoint target, List<WorldPoint> obstacles)
 	{
-		if (safeSpotCache.containsKey(target))
+		final byte cached = canMoveToAttackCache.get(target);
+
+		if (cached != InfernoTileCache.MISS)
+		{
+			profiler.increment(InfernoTickProfiler.Counter.SAFESPOT_CACHE_HIT);
+			return cached == 1;
+		}
+
+		if (canAttackCache.get(target) == 1)
 		{
-			return safeSpotCache.get(target) == 1 || safeSpotCache.get(target) == 2;
+			profiler.increment(InfernoTickProfiler.Counter.SAFESPOT_CACHE_HIT);
+			return true;
 		}
 
+		profiler.increment(InfernoTickProfiler.Counter.SAFESPOT_CACHE_MISS);
+
 		final List<WorldPoint> realObstacles = new ArrayList<>();
 		for (WorldPoint obstacle : obstacles)
 		{
@@ -161,23 +216,24 @@ public class InfernoNPC
 			// Will only happen when NPC is underneath player or moving out of scene (but this will never show on overlay)
 			if (predictedWorldArea == null)
 			{
-				safeSpotCache.put(target, 1);
+				cacheSafeSpot(canMoveToAttackCache, target, true);
 				return true;
 			}
 
 			if (predictedWorldArea == currentWorldArea)
 			{
-				safeSpotCache.put(target, 0);
+				cacheSafeSpot(canMoveToAttackCache, target, false);
 				return false;
 			}
 
+			profiler.increment(InfernoTickProfiler.Counter.LOS_CHECK);
 			boolean hasLos = new WorldArea(target, 1, 1).hasLineOfSightTo(client.getTopLevelWorldView(), predictedWorldArea);
 			boolean hasRange = this.getType().getDefaultAttack() == Attack.MELEE ? predictedWorldArea.isInMeleeDistance(target)
 					: predictedWorldArea.distanceTo(target) <= this.getType().getRange();
 
 			if (hasLos && hasRange)
 			{
-				safeSpotCache.put(target, 1);
+				cacheSafeSpot(canMoveToAttackCache, target, true);
 				return true;
 			}
 
@@ -187,13 +243,19 @@ public class InfernoNPC
 
 	private boolean couldAttackPrevTick(Client client, WorldPoint lastPlayerLocation)
 	{
+		profiler.increment(InfernoTickProfiler.Counter.LOS_CHECK);
 		return new WorldArea(lastPlayerLocation, 1, 1).hasLineOfSightTo(client.getTopLevelWorldView(), this.getNpc().getWorldArea());
 	}
 
-	public void gameTick(Client client, WorldPoint lastPlayerLocation, boolean finalPhase, int ticksSinceFinalPhase)
+	/**
+	 * @param arenaVersion changes whenever the pillars or the scene change
+	 * @param obstacleVersion changes whenever the tiles taken by NPCs change, including every change of arenaVersion
+	 */
+	public void gameTick(Client client, WorldPoint lastPlayerLocation, boolean finalPhase, int ticksSinceFinalPhase,
+		int arenaVersion, int obstacleVersion)
 	{
-		int npcAnimationId = ReflectionLibrary.getNpcAnimationId(this.getNpc());
-		safeSpotCache.clear();
+		int npcAnimationId = animationStore.getAnimation(this.getNpc());
+		validateSafeSpotCaches(arenaVersion, obstacleVersion);
 		this.idleTicks += 1;
 
 		if (ticksTillNextAttack > 0)
@@ -229,7 +291,7 @@ public class InfernoNPC
 						}
 						else
 						{
-							this.updateNextAttack(this.getType().getDefaultAttack(), 10);
+							this.updateNextAttack(this.getType().getDefaultAttack(), this.getType().getAttackSpeed());
 						}
 					}
 					break;
@@ -237,7 +299,7 @@ public class InfernoNPC
 					if (this.getNextAttack() != Attack.UNKNOWN)
 					{
 						// Jad's cycle continuous after his animation + attack but there's no animation to alert it
-						this.updateNextAttack(this.getType().getDefaultAttack(), 8);
+						this.updateNextAttack(this.getType().getDefaultAttack(), this.getType().getAttackSpeed());
 					}
 					break;
 				case BLOB:
@@ -400,30 +462,36 @@ public class InfernoNPC
 
 	public enum Type
 	{
-		NIBBLER(new int[]{NpcID.JALNIB}, Attack.MELEE, 4, 99, 100),
-		BAT(new int[]{NpcID.JALMEJRAH}, Attack.RANGED, 3, 4, 7),
-		BLOB(new int[]{NpcID.JALAK}, Attack.UNKNOWN, 6, 15, 4),
-		MELEE(new int[]{NpcID.JALIMKOT}, Attack.MELEE, 4, 1, 3),
-		RANGER(new int[]{NpcID.JALXIL, NpcID.JALXIL_7702}, Attack.RANGED, 4, 98, 2),
-		MAGE(new int[]{NpcID.JALZEK, NpcID.JALZEK_7703}, Attack.MAGIC, 4, 98, 1),
-		JAD(new int[]{NpcID.JALTOKJAD, NpcID.JALTOKJAD_7704, 10623}, Attack.UNKNOWN, 3, 99, 0),
-		HEALER_JAD(new int[]{NpcID.YTHURKOT, NpcID.YTHURKOT_7701, NpcID.YTHURKOT_7705}, Attack.MELEE, 4, 1, 6),
-		ZUK(new int[]{NpcID.TZKALZUK}, Attack.UNKNOWN, 10, 99, 99),
-		HEALER_ZUK(new int[]{NpcID.JALMEJJAK, 10624}, Attack.UNKNOWN, -1, 99, 100);
+		NIBBLER(new int[]{NpcID.JALNIB}, Attack.MELEE, 4, 4, 99, 100, 1),
+		BAT(new int[]{NpcID.JALMEJRAH}, Attack.RANGED, 3, 3, 4, 7, 2),
+		BLOB(new int[]{NpcID.JALAK}, Attack.UNKNOWN, 6, 6, 15, 4, 3),
+		MELEE(new int[]{NpcID.JALIMKOT}, Attack.MELEE, 4, 4, 1, 3, 4),
+		RANGER(new int[]{NpcID.JALXIL, NpcID.JALXIL_7702}, Attack.RANGED, 4, 4, 98, 2, 3),
+		MAGE(new int[]{NpcID.JALZEK, NpcID.JALZEK_7703}, Attack.MAGIC, 4, 4, 98, 1, 4),
+		JAD(new int[]{NpcID.JALTOKJAD, NpcID.JALTOKJAD_7704, 10623}, Attack.UNKNOWN, 3, 8, 99, 0, 5),
+		HEALER_JAD(new int[]{NpcID.YTHURKOT, NpcID.YTHURKOT_7701, NpcID.YTHURKOT_7705}, Attack.MELEE, 4, 4, 1, 6, 1),
+		ZUK(new int[]{NpcID.TZKALZUK}, Attack.UNKNOWN, 10, 10, 99, 99, 7),
+		HEALER_ZUK(new int[]{NpcID.JALMEJJAK, 10624}, Attack.UNKNOWN, -1, 4, 99, 100, 1);
 
 		private final int[] npcIds;
 		private final Attack defaultAttack;
 		private final int ticksAfterAnimation;
+		// Ticks between two attacks
+		private final int attackSpeed;
 		private final int range;
 		private final int priority;
+		// Width and height in tiles
+		private final int size;
 
-		Type(int[] npcIds, Attack defaultAttack, int ticksAfterAnimation, int range, int priority)
+		Type(int[] npcIds, Attack defaultAttack, int ticksAfterAnimation, int attackSpeed, int range, int priority, int size)
 		{
 			this.npcIds = npcIds;
 			this.defaultAttack = defaultAttack;
 			this.ticksAfterAnimation = ticksAfterAnimation;
+			this.attackSpeed = attackSpeed;
 			this.range = range;
 			this.priority = priority;
+			this.size = size;
 		}
 
 		public int[] getNpcIds()
@@ -441,6 +509,11 @@ public class InfernoNPC
 			return ticksAfterAnimation;
 		}
 
+		public int getAttackSpeed()
+		{
+			return attackSpeed;
+		}
+
 		public int getRange()
 		{
 			return range;
@@ -451,6 +524,11 @@ public class InfernoNPC
 			return priority;
 		}
 
+		public int getSize()
+		{
+			return size;
+		}
+
 		public static Type typeFromId(int npcId)
 		{
 			for (Type type : Type.values())
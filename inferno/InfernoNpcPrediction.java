@@ -8,27 +8,25 @@ import net.runelite.api.Client;
 
 import java.util.*;
 import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.inject.Singleton;
 
 /**
  * Robust tick/attack prediction for all Inferno NPCs.
  * Supports: animation tracking, fallback cycles, public tick-to-next-attack, and debug output.
  */
 @Slf4j
+@Singleton
 public class InfernoNpcPrediction
 {
     // Map of NPC instance to its prediction state
     private final Map<NPC, NpcPredictionState> npcStateMap = new HashMap<>();
+    private final InfernoAnimationStore animationStore;
 
-    // Static: Attack cycles (in ticks) for each NPC type
-    private static final Map<InfernoNPC.Type, Integer> DEFAULT_ATTACK_CYCLES = new EnumMap<>(InfernoNPC.Type.class);
-    static {
-        DEFAULT_ATTACK_CYCLES.put(InfernoNPC.Type.MELEE, 4);
-        DEFAULT_ATTACK_CYCLES.put(InfernoNPC.Type.RANGER, 4);
-        DEFAULT_ATTACK_CYCLES.put(InfernoNPC.Type.MAGE, 4);
-        DEFAULT_ATTACK_CYCLES.put(InfernoNPC.Type.JAD, 8); // Can be more granular if needed
-        DEFAULT_ATTACK_CYCLES.put(InfernoNPC.Type.BLOB, 4); // Blob splat cycle
-        DEFAULT_ATTACK_CYCLES.put(InfernoNPC.Type.BAT, 3); // Confirm if 3 or 4 for bats
-        // ...other types
+    @Inject
+    public InfernoNpcPrediction(InfernoAnimationStore animationStore)
+    {
+        this.animationStore = animationStore;
     }
 
     /**
@@ -48,7 +46,7 @@ public class InfernoNpcPrediction
             NpcPredictionState state = npcStateMap.computeIfAbsent(npc, n -> new NpcPredictionState(type));
 
             // Animation-based: If animation indicates attack, reset timer
-            int currentAnimation = npc.getAnimation();
+            int currentAnimation = animationStore.getAnimation(npc);
             boolean attackAnimation = isAttackAnimation(type, currentAnimation);
 
             if (attackAnimation)
@@ -144,7 +142,7 @@ public class InfernoNpcPrediction
     // Per-NPC-type attack cycle (ticks)
     private int getAttackCycle(InfernoNPC.Type type)
     {
-        return DEFAULT_ATTACK_CYCLES.getOrDefault(type, 4);
+        return type.getAttackSpeed();
     }
 
     // NPC prediction state class
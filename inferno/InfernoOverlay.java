@@ -14,9 +14,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 
-import net.runelite.client.plugins.kotoriutils.rlapi.PrayerExtended;
-import net.runelite.client.plugins.kotoriutils.rlapi.WidgetInfoPlus;
 import net.runelite.api.Client;
 import net.runelite.api.NPC;
 import net.runelite.api.Perspective;
@@ -24,7 +23,6 @@ import net.runelite.api.Point;
 import net.runelite.api.Prayer;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
-import net.runelite.api.widgets.Widget;
 import net.runelite.client.plugins.inferno.displaymodes.InfernoPrayerDisplayMode;
 import net.runelite.client.plugins.inferno.displaymodes.InfernoSafespotDisplayMode;
 import net.runelite.client.ui.overlay.Overlay;
@@ -32,22 +30,38 @@ import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPosition;
 import net.runelite.client.ui.overlay.OverlayUtil;
 
+@Singleton
 public class InfernoOverlay extends Overlay
 {
 	private static final int TICK_PIXEL_SIZE = 60;
 	private static final int BOX_WIDTH = 10;
 	private static final int BOX_HEIGHT = 5;
+	private static final Stroke THIN_LINE_STROKE = new BasicStroke(1);
 
 	private final InfernoPlugin plugin;
 	private final InfernoConfig config;
 	private final Client client;
+	private final InfernoFrameClock frameClock;
+	private final InfernoPrayerWidgetCache prayerWidgetCache;
+	private final InfernoLodController lodController;
+	private final InfernoTickProfiler tickProfiler;
+	private final Rectangle boxRectangle = new Rectangle();
+	private final Rectangle prayerRectangle = new Rectangle();
+	// The translucent fill of every safespot area drawn when areas are only filled, created on first use
+	private final Color[] areaFillColors = new Color[7];
 
 	@Inject
-	private InfernoOverlay(final Client client, final InfernoPlugin plugin, final InfernoConfig config)
+	private InfernoOverlay(final Client client, final InfernoPlugin plugin, final InfernoConfig config,
+		final InfernoFrameClock frameClock, final InfernoPrayerWidgetCache prayerWidgetCache, final InfernoLodController lodController,
+		final InfernoTickProfiler tickProfiler)
 	{
 		this.client = client;
 		this.plugin = plugin;
 		this.config = config;
+		this.frameClock = frameClock;
+		this.prayerWidgetCache = prayerWidgetCache;
+		this.lodController = lodController;
+		this.tickProfiler = tickProfiler;
 		setPosition(OverlayPosition.DYNAMIC);
 		setLayer(OverlayLayer.ABOVE_WIDGETS);
 		setPriority(Overlay.PRIORITY_HIGHEST);
@@ -56,11 +70,25 @@ public class InfernoOverlay extends Overlay
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
-		final Widget meleePrayerWidget = client.getWidget(WidgetInfoPlus.PRAYER_PROTECT_FROM_MELEE.getId());
-		final Widget rangePrayerWidget = client.getWidget(WidgetInfoPlus.PRAYER_PROTECT_FROM_MISSILES.getId());
-		final Widget magicPrayerWidget = client.getWidget(WidgetInfoPlus.PRAYER_PROTECT_FROM_MAGIC.getId());
+		final long allocationStart = tickProfiler.startRender();
+		final long start = System.nanoTime();
 
-		if (config.indicateObstacles())
+		renderOverlay(graphics);
+
+		final long end = System.nanoTime();
+		lodController.recordRenderTime(end - start);
+		tickProfiler.endRender(allocationStart);
+
+		if (InfernoFlightRecorder.isRenderPassEnabled())
+		{
+			InfernoFlightRecorder.renderPass("InfernoOverlay", end - start);
+		}
+		return null;
+	}
+
+	private void renderOverlay(Graphics2D graphics)
+	{
+		if (config.indicateObstacles() && !lodController.isAtLeast(InfernoLodController.Level.NO_OBSTACLES))
 		{
 			renderObstacles(graphics);
 		}
@@ -74,6 +102,11 @@ public class InfernoOverlay extends Overlay
 			renderIndividualTilesSafespots(graphics);
 		}
 
+		if (config.safespotDisplayMode() != InfernoSafespotDisplayMode.OFF && plugin.getSafespotPendingRing() >= 0)
+		{
+			renderPendingSafespots(graphics);
+		}
+
 		if (config.indicateBlobDeathLocation())
 		{
 			renderBlobDeathPoly(graphics);
@@ -143,13 +176,7 @@ public class InfernoOverlay extends Overlay
 			}
 		}
 
-		var prayerWidgetHidden =
-			meleePrayerWidget == null
-				|| rangePrayerWidget == null
-				|| magicPrayerWidget == null
-				|| meleePrayerWidget.isHidden()
-				|| rangePrayerWidget.isHidden()
-				|| magicPrayerWidget.isHidden();
+		final boolean prayerWidgetHidden = prayerWidgetCache.isHidden();
 
 		if ((config.prayerDisplayMode() == InfernoPrayerDisplayMode.PRAYER_TAB
 			|| config.prayerDisplayMode() == InfernoPrayerDisplayMode.BOTH)
@@ -162,8 +189,6 @@ public class InfernoOverlay extends Overlay
 				renderDescendingBoxes(graphics);
 			}
 		}
-
-		return null;
 	}
 
 	private void renderObstacles(Graphics2D graphics)
@@ -190,6 +215,9 @@ public class InfernoOverlay extends Overlay
 
 	private void renderAreaSafepots(Graphics2D graphics)
 	{
+		final boolean fillsOnly = lodController.isAtLeast(InfernoLodController.Level.AREA_FILLS);
+		final boolean solidLines = lodController.isAtLeast(InfernoLodController.Level.SOLID_LINES);
+
 		for (int safeSpotId : plugin.getSafeSpotAreas().keySet())
 		{
 			if (safeSpotId > 6)
@@ -258,8 +286,15 @@ public class InfernoOverlay extends Overlay
 					continue;
 				}
 
-                assert colorFill != null;
-                renderAreaTilePolygon(graphics, tilePoly, colorFill);
+				assert colorFill != null;
+
+				if (fillsOnly)
+				{
+					renderAreaTileFill(graphics, tilePoly, getAreaFillColor(safeSpotId, colorFill));
+					continue;
+				}
+
+				renderAreaTilePolygon(graphics, tilePoly, colorFill);
 
 				final int[][] edge1 = new int[][]{{tilePoly.xpoints[0], tilePoly.ypoints[0]}, {tilePoly.xpoints[1], tilePoly.ypoints[1]}};
 				edgeSizeSquared += (int) (Math.pow(tilePoly.xpoints[0] - tilePoly.xpoints[1], 2) + Math.pow(tilePoly.ypoints[0] - tilePoly.ypoints[1], 2));
@@ -313,7 +348,14 @@ public class InfernoOverlay extends Overlay
 
 					if (colorEdge2 != null)
 					{
-						renderDashedLine(graphics, baseEdge, colorEdge2);
+						if (solidLines)
+						{
+							renderThinLine(graphics, baseEdge, colorEdge2);
+						}
+						else
+						{
+							renderDashedLine(graphics, baseEdge, colorEdge2);
+						}
 					}
 				}
 			}
@@ -360,7 +402,7 @@ public class InfernoOverlay extends Overlay
 			Color color = config.getBlobDeathLocationColor();
 			if (config.blobDeathLocationFade())
 			{
-				color = new Color(color.getRed(), color.getGreen(), color.getBlue(), blobDeathSpot.fillAlpha());
+				color = new Color(color.getRed(), color.getGreen(), color.getBlue(), blobDeathSpot.fillAlpha(frameClock));
 			}
 
 			renderOutlinePolygon(graphics, area, color);
@@ -436,6 +478,40 @@ public class InfernoOverlay extends Overlay
 		}
 	}
 
+	private void renderPendingSafespots(Graphics2D graphics)
+	{
+		final WorldPoint center = plugin.getSafespotCenter();
+		final int rings = plugin.getSafespotRings();
+		final int pendingRing = plugin.getSafespotPendingRing();
+
+		for (int x = -rings; x <= rings; x++)
+		{
+			for (int y = -rings; y <= rings; y++)
+			{
+				if (Math.max(Math.abs(x), Math.abs(y)) < pendingRing)
+				{
+					continue;
+				}
+
+				final LocalPoint localPoint = LocalPoint.fromWorld(client.getTopLevelWorldView(), center.dx(x).dy(y));
+
+				if (localPoint == null)
+				{
+					continue;
+				}
+
+				final Polygon tilePoly = Perspective.getCanvasTilePoly(client, localPoint);
+
+				if (tilePoly == null)
+				{
+					continue;
+				}
+
+				OverlayUtil.renderPolygon(graphics, tilePoly, Color.GRAY);
+			}
+		}
+	}
+
 	private void renderTicksOnNpc(Graphics2D graphics, InfernoNPC infernoNPC, NPC renderOnNPC)
 	{
 		final Color color = (infernoNPC.getTicksTillNextAttack() == 1
@@ -467,6 +543,8 @@ public class InfernoOverlay extends Overlay
 
 	private void renderDescendingBoxes(Graphics2D graphics)
 	{
+		final int tickOffset = (int) (frameClock.getTickProgress() * TICK_PIXEL_SIZE);
+
 		for (Integer tick : plugin.getUpcomingAttacks().keySet())
 		{
 			final Map<InfernoNPC.Attack, Integer> attackPriority = plugin.getUpcomingAttacks().get(tick);
@@ -486,22 +564,19 @@ public class InfernoOverlay extends Overlay
 			{
 				//TODO: Config values for these colors
 				final Color color = (tick == 1 && currentAttack == bestAttack) ? Color.RED : Color.ORANGE;
-				final Widget prayerWidget = client.getWidget(PrayerExtended.getPrayerWidgetId(currentAttack.getPrayer()));
-				
-				if (prayerWidget == null)
+				if (!prayerWidgetCache.isPresent(currentAttack))
 				{
 					continue;
 				}
 
-				int baseX = (int) prayerWidget.getBounds().getX();
-				baseX += (int) (prayerWidget.getBounds().getWidth() / 2);
+				int baseX = prayerWidgetCache.getX(currentAttack);
+				baseX += prayerWidgetCache.getWidth(currentAttack) / 2;
 				baseX -= BOX_WIDTH / 2;
 
-				int baseY = (int) prayerWidget.getBounds().getY() - tick * TICK_PIXEL_SIZE - BOX_HEIGHT;
-				baseY += (int) (TICK_PIXEL_SIZE - ((plugin.getLastTick() + 600 - System.currentTimeMillis()) / 600.0 * TICK_PIXEL_SIZE));
+				int baseY = prayerWidgetCache.getY(currentAttack) - tick * TICK_PIXEL_SIZE - BOX_HEIGHT;
+				baseY += tickOffset;
 
-				final Rectangle boxRectangle = new Rectangle(BOX_WIDTH, BOX_HEIGHT);
-				boxRectangle.translate(baseX, baseY);
+				boxRectangle.setBounds(baseX, baseY, BOX_WIDTH, BOX_HEIGHT);
 
 				if (currentAttack == bestAttack)
 				{
@@ -536,14 +611,13 @@ public class InfernoOverlay extends Overlay
 
 			if (plugin.getClosestAttack() != prayerForAttack || config.indicateWhenPrayingCorrectly())
 			{
-				final Widget prayerWidget = client.getWidget(PrayerExtended.getPrayerWidgetId(plugin.getClosestAttack().getPrayer()));
-				if (prayerWidget == null)
+				final InfernoNPC.Attack closestAttack = plugin.getClosestAttack();
+				if (!prayerWidgetCache.isPresent(closestAttack))
 				{
 					return;
 				}
-				final Rectangle prayerRectangle = new Rectangle((int) prayerWidget.getBounds().getWidth(),
-					(int) prayerWidget.getBounds().getHeight());
-				prayerRectangle.translate((int) prayerWidget.getBounds().getX(), (int) prayerWidget.getBounds().getY());
+				prayerRectangle.setBounds(prayerWidgetCache.getX(closestAttack), prayerWidgetCache.getY(closestAttack),
+					prayerWidgetCache.getWidth(closestAttack), prayerWidgetCache.getHeight(closestAttack));
 
 				//TODO: Config values for these colors
 				Color prayerColor;
@@ -561,6 +635,19 @@ public class InfernoOverlay extends Overlay
 		}
 	}
 
+	private Color getAreaFillColor(int safeSpotId, Color colorFill)
+	{
+		Color fillColor = areaFillColors[safeSpotId];
+
+		if (fillColor == null)
+		{
+			fillColor = new Color(colorFill.getRed(), colorFill.getGreen(), colorFill.getBlue(), 50);
+			areaFillColors[safeSpotId] = fillColor;
+		}
+
+		return fillColor;
+	}
+
 	private boolean edgeEqualsEdge(int[][] edge1, int[][] edge2, int toleranceSquared)
 	{
 		return (pointEqualsPoint(edge1[0], edge2[0], toleranceSquared) && pointEqualsPoint(edge1[1], edge2[1], toleranceSquared))
@@ -580,6 +667,15 @@ public class InfernoOverlay extends Overlay
 		graphics.fill(poly);
 	}
 
+	/**
+	 * @param color the translucent fill color
+	 */
+	public static void renderAreaTileFill(Graphics2D graphics, Shape poly, Color color)
+	{
+		graphics.setColor(color);
+		graphics.fill(poly);
+	}
+
 	public static void renderFullLine(Graphics2D graphics, int[][] line, Color color)
 	{
 		graphics.setColor(color);
@@ -589,6 +685,15 @@ public class InfernoOverlay extends Overlay
 		graphics.setStroke(originalStroke);
 	}
 
+	public static void renderThinLine(Graphics2D graphics, int[][] line, Color color)
+	{
+		graphics.setColor(color);
+		final Stroke originalStroke = graphics.getStroke();
+		graphics.setStroke(THIN_LINE_STROKE);
+		graphics.drawLine(line[0][0], line[0][1], line[1][0], line[1][1]);
+		graphics.setStroke(originalStroke);
+	}
+
 	public static void renderDashedLine(Graphics2D graphics, int[][] line, Color color)
 	{
 		graphics.setColor(color);
@@ -29,6 +29,8 @@ public class InfernoOverlayAdvanced extends Overlay
     private final Client client;
     private final InfernoNpcPrediction npcPrediction;
     private final InfernoPrayerRecommendation prayerRecommendation;
+    private final InfernoPrayerChannel prayerChannel;
+    private final InfernoThreatEvaluation threatEvaluation;
     private final PanelComponent panelComponent = new PanelComponent();
 
     // These are set by the plugin before each render
@@ -42,12 +44,16 @@ public class InfernoOverlayAdvanced extends Overlay
     public InfernoOverlayAdvanced(
             Client client,
             InfernoNpcPrediction npcPrediction,
-            InfernoPrayerRecommendation prayerRecommendation
+            InfernoPrayerRecommendation prayerRecommendation,
+            InfernoPrayerChannel prayerChannel,
+            InfernoThreatEvaluation threatEvaluation
     )
     {
         this.client = client;
         this.npcPrediction = npcPrediction;
         this.prayerRecommendation = prayerRecommendation;
+        this.prayerChannel = prayerChannel;
+        this.threatEvaluation = threatEvaluation;
         setPosition(OverlayPosition.TOP_LEFT);
     }
 
@@ -78,8 +84,8 @@ public class InfernoOverlayAdvanced extends Overlay
             return null;
         }
 
-        // Prayer recommendation
-        Prayer recPrayer = prayerRecommendation.recommendPrayer(infernoNpcs, client, playerLoc, safeSpotMap);
+        // Prayer recommendation, as published on the last tick
+        Prayer recPrayer = InfernoPrayerChannel.getPrayer(prayerChannel.getSnapshot());
 
         String prayerText = recPrayer == null ? "No Prayer Needed" : recPrayer.name().replace("_", " ");
         panelComponent.getChildren().add(TitleComponent.builder()
@@ -130,7 +136,7 @@ public class InfernoOverlayAdvanced extends Overlay
         }
 
         // Debug (incoming attacks this tick)
-        Set<InfernoNPC.Attack> incoming = prayerRecommendation.getIncomingAttacks(infernoNpcs, client, playerLoc);
+        Set<InfernoNPC.Attack> incoming = threatEvaluation.getIncomingAttacks();
         panelComponent.getChildren().add(TitleComponent.builder()
                 .text("Incoming attacks: " + incoming)
                 .color(Color.PINK)
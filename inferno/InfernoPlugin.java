@@ -1,6 +1,7 @@
 package net.runelite.client.plugins.inferno;
 
 import com.google.inject.Provides;
+import net.runelite.api.Actor;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
 import net.runelite.api.NPC;
@@ -17,11 +18,8 @@ import net.runelite.client.game.NPCManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDependency;
 import net.runelite.client.plugins.PluginDescriptor;
-import net.runelite.client.plugins.inferno.displaymodes.InfernoPrayerDisplayMode;
-import net.runelite.client.plugins.inferno.displaymodes.InfernoSafespotDisplayMode;
 import net.runelite.client.plugins.inferno.displaymodes.InfernoWaveDisplayMode;
 import net.runelite.client.plugins.inferno.displaymodes.InfernoZukShieldDisplayMode;
-import net.runelite.client.plugins.PrayAgainstPlayer.RecommendedPrayerChangedEvent;
 import net.runelite.client.ui.overlay.OverlayManager;
 import net.runelite.client.ui.overlay.infobox.InfoBoxManager;
 import net.runelite.client.plugins.kotoriutils.methods.NPCInteractions;
@@ -31,6 +29,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
 
 import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
 
 @PluginDependency(net.runelite.client.plugins.kotoriutils.KotoriUtils.class)
@@ -44,6 +44,7 @@ import java.util.*;
 public class InfernoPlugin extends Plugin
 {
 	private static final int INFERNO_REGION = 9043;
+	private static final int SYNTHETIC_STRESS_NIBBLERS = 20;
 
 	@Inject
 	private Client client;
@@ -62,9 +63,43 @@ public class InfernoPlugin extends Plugin
 	@Inject
 	private InfernoInfoBoxOverlay jadOverlay;
 	@Inject
+	private InfernoDebugOverlay debugOverlay;
+	@Inject
+	private InfernoPredictionOverlay predictionOverlay;
+	@Inject
+	private InfernoPredictionScoreboard predictionScoreboard;
+	@Inject
 	private InfernoConfig config;
 	@Inject
 	private EventBus eventBus;
+	@Inject
+	private InfernoFrameClock frameClock;
+	@Inject
+	private InfernoPrayerWidgetCache prayerWidgetCache;
+	@Inject
+	private InfernoLodController lodController;
+	@Inject
+	private InfernoTickProfiler tickProfiler;
+	@Inject
+	private InfernoEngineBenchmark engineBenchmark;
+	@Inject
+	private InfernoRenderBenchmark renderBenchmark;
+	@Inject
+	private InfernoTickRecorder tickRecorder;
+	@Inject
+	private InfernoEngineTrace engineTrace;
+	@Inject
+	private InfernoAnimationStore animationStore;
+	@Inject
+	private InfernoPrayerChannel prayerChannel;
+	@Inject
+	private InfernoThreatEvaluation threatEvaluation;
+	@Inject
+	private InfernoComputationGraph computationGraph;
+	@Inject
+	private InfernoBlackBox blackBox;
+	@Inject
+	private ConfigManager configManager;
 
 	@Getter(AccessLevel.PACKAGE)
 	private InfernoConfig.FontStyle fontStyle = InfernoConfig.FontStyle.BOLD;
@@ -78,6 +113,17 @@ public class InfernoPlugin extends Plugin
 
 	@Getter(AccessLevel.PACKAGE)
 	private final List<InfernoNPC> infernoNpcs = new ArrayList<>();
+	private final InfernoClientArenaView arenaView = new InfernoClientArenaView();
+	private final InfernoArenaEvents arenaEvents = new InfernoArenaEvents(this);
+	private boolean inInferno;
+
+	// The secondary stages of the last tick haven't run yet
+	private boolean secondaryStagesPending;
+	// Carried from the prayer critical path of the tick to its secondary stages
+	private boolean writeTrace;
+	private int traceTick;
+	private long traceUpcomingNanos;
+	private long traceAllocatedBytes;
 
 	@Getter(AccessLevel.PACKAGE)
 	private final Map<Integer, Map<InfernoNPC.Attack, Integer>> upcomingAttacks = new HashMap<>();
@@ -86,6 +132,11 @@ public class InfernoPlugin extends Plugin
 
 	@Getter(AccessLevel.PACKAGE)
 	private final List<WorldPoint> obstacles = new ArrayList<>();
+	private final List<WorldPoint> previousObstacles = new ArrayList<>();
+	// Changes whenever the pillars or the scene change, which invalidates the line of sight caches of the NPCs
+	private int arenaVersion;
+	// Changes whenever the obstacles change, which invalidates the NPCs' caches of whether they can move to attack
+	private int obstacleVersion;
 
 	@Getter(AccessLevel.PACKAGE)
 	private boolean finalPhase = false;
@@ -110,17 +161,25 @@ public class InfernoPlugin extends Plugin
 	private final Map<WorldPoint, Integer> safeSpotMap = new HashMap<>();
 	@Getter(AccessLevel.PACKAGE)
 	private final Map<Integer, List<WorldPoint>> safeSpotAreas = new HashMap<>();
-
+	// The rings of safespots around the center from the pending ring on haven't been calculated yet, -1 if none
 	@Getter(AccessLevel.PACKAGE)
-	List<InfernoBlobDeathSpot> blobDeathSpots = new ArrayList<>();
+	private WorldPoint safespotCenter;
+	@Getter(AccessLevel.PACKAGE)
+	private int safespotRings;
+	@Getter(AccessLevel.PACKAGE)
+	private int safespotPendingRing = -1;
 
 	@Getter(AccessLevel.PACKAGE)
-	private long lastTick;
+	List<InfernoBlobDeathSpot> blobDeathSpots = new ArrayList<>();
 
 	private InfernoSpawnTimerInfobox spawnTimerInfoBox;
-	private InfernoNPC.Attack lastRecommendedAttack = null;
+	private int zukMaxHp = -1;
+	// Whether the spawn timer must check if it pauses or resumes, set when Zuk is hit or the timer restarts
+	private boolean spawnTimerChanged;
 
+	@Inject
 	private InfernoNpcPrediction npcPrediction;
+	@Inject
 	private InfernoPrayerRecommendation prayerRecommendation;
 
 	public static final int JAL_NIB = 7574;
@@ -150,24 +209,26 @@ public class InfernoPlugin extends Plugin
 		waveOverlay.setDisplayMode(config.waveDisplay());
 		waveOverlay.setWaveHeaderColor(config.getWaveOverlayHeaderColor());
 		waveOverlay.setWaveTextColor(config.getWaveTextColor());
+		computationGraph.rebuild();
 
-		npcPrediction = new InfernoNpcPrediction();
-		prayerRecommendation = new InfernoPrayerRecommendation(npcPrediction);
-
-		if (client.getGameState() != GameState.LOGGED_IN || !isInInferno())
+		if (client.getGameState() == GameState.LOGGED_IN)
 		{
-			return;
+			updateRegion();
 		}
-
-		init();
 	}
 
 	@Override
 	protected void shutDown()
 	{
+		eventBus.unregister(arenaEvents);
+		inInferno = false;
+		secondaryStagesPending = false;
+
 		overlayManager.remove(infernoOverlay);
 		overlayManager.remove(waveOverlay);
 		overlayManager.remove(jadOverlay);
+		overlayManager.remove(debugOverlay);
+		overlayManager.remove(predictionOverlay);
 
 		if (spawnTimerInfoBox != null)
 		{
@@ -178,8 +239,10 @@ public class InfernoPlugin extends Plugin
 		infernoNpcs.clear();
 		upcomingAttacks.clear();
 		obstacles.clear();
+		previousObstacles.clear();
 		safeSpotMap.clear();
 		safeSpotAreas.clear();
+		safespotPendingRing = -1;
 		blobDeathSpots.clear();
 
 		currentWaveNumber = -1;
@@ -189,9 +252,15 @@ public class InfernoPlugin extends Plugin
 		zukShieldLastPosition = null;
 		zukShieldBase = null;
 		closestAttack = null;
-		lastRecommendedAttack = null;
-
-		postPrayerRecommendation(null);
+		frameClock.reset();
+		lodController.reset();
+		tickProfiler.reset();
+		tickRecorder.stop();
+		engineTrace.close();
+		predictionScoreboard.reset();
+		animationStore.reset();
+
+		prayerChannel.reset(currentWaveNumber);
 	}
 
 	private void init()
@@ -203,6 +272,50 @@ public class InfernoPlugin extends Plugin
 		{
 			overlayManager.add(waveOverlay);
 		}
+
+		if (config.debugOverlay())
+		{
+			overlayManager.add(debugOverlay);
+		}
+
+		if (config.predictionScoreboard())
+		{
+			overlayManager.add(predictionOverlay);
+		}
+	}
+
+	/**
+	 * Caches whether the player is in the Inferno, must be called whenever the map region may have changed. Entering
+	 * the Inferno registers the arena events, leaving it shuts the plugin down until the player returns.
+	 */
+	private void updateRegion()
+	{
+		final boolean wasInInferno = inInferno;
+		inInferno = net.runelite.client.plugins.kotoriutils.methods.MiscUtilities.getPlayerRegionID() == INFERNO_REGION;
+
+		if (inInferno && !wasInInferno)
+		{
+			init();
+			infernoNpcs.clear();
+			blackBox.reset();
+
+			if (currentWaveNumber == -1)
+			{
+				currentWaveNumber = 1;
+			}
+
+			// Spawns of the scene being loaded were seen before the region was known
+			for (NPC npc : NPCInteractions.getNpcs())
+			{
+				onNpcSpawned(npc);
+			}
+
+			eventBus.register(arenaEvents);
+		}
+		else if (!inInferno && wasInInferno)
+		{
+			shutDown();
+		}
 	}
 
 	@Subscribe
@@ -213,11 +326,17 @@ public class InfernoPlugin extends Plugin
 			return;
 		}
 
-		if (event.getKey().endsWith("color"))
+		computationGraph.rebuild();
+
+		if (event.getKey().endsWith("Color"))
 		{
 			waveOverlay.setWaveHeaderColor(config.getWaveOverlayHeaderColor());
 			waveOverlay.setWaveTextColor(config.getWaveTextColor());
 		}
+		else if ("npcNaming".equals(event.getKey()) || "npcLevels".equals(event.getKey()))
+		{
+			waveOverlay.invalidate();
+		}
 		else if ("waveDisplay".equals(event.getKey()))
 		{
 			overlayManager.remove(waveOverlay);
@@ -229,56 +348,218 @@ public class InfernoPlugin extends Plugin
 				overlayManager.add(waveOverlay);
 			}
 		}
-	}
+		else if ("generateSyntheticRuns".equals(event.getKey()) && config.generateSyntheticRuns())
+		{
+			generateSyntheticRuns();
+			turnOff("generateSyntheticRuns");
+		}
+		else if ("compareEngineTraces".equals(event.getKey()) && config.compareEngineTraces())
+		{
+			InfernoTraceComparison.compareLatest();
+			turnOff("compareEngineTraces");
+		}
+		else if ("dumpBlackBox".equals(event.getKey()) && config.dumpBlackBox())
+		{
+			blackBox.dump("manual");
+			turnOff("dumpBlackBox");
+		}
+		else if ("writeEngineTrace".equals(event.getKey()) && !config.writeEngineTrace())
+		{
+			engineTrace.close();
+		}
+		else if ("debugOverlay".equals(event.getKey()))
+		{
+			overlayManager.remove(debugOverlay);
 
-	@Subscribe
-	private void onGameTick(GameTick event)
-	{
-		if (!isInInferno())
+			if (isInInferno() && config.debugOverlay())
+			{
+				overlayManager.add(debugOverlay);
+			}
+		}
+		else if ("predictionScoreboard".equals(event.getKey()))
 		{
-			if (lastRecommendedAttack != null)
+			overlayManager.remove(predictionOverlay);
+
+			if (isInInferno() && config.predictionScoreboard())
 			{
-				postPrayerRecommendation(null);
-				lastRecommendedAttack = null;
+				overlayManager.add(predictionOverlay);
 			}
+		}
+	}
+
+	/**
+	 * Turns an option which acts as a button off again, once what it asked for was done.
+	 */
+	private void turnOff(String key)
+	{
+		configManager.setConfiguration("inferno", key, false);
+	}
+
+	private void generateSyntheticRuns()
+	{
+		final File runFile = InfernoTickRecorder.newRecordingFile("_synthetic");
+		final File stressFile = InfernoTickRecorder.newRecordingFile("_stress");
+
+		InfernoTickRecorder.RECORDING_DIR.mkdirs();
+
+		try (InfernoTickWriter runWriter = new InfernoTickWriter(runFile);
+			InfernoTickWriter stressWriter = new InfernoTickWriter(stressFile))
+		{
+			new InfernoWaveGenerator(config.syntheticSeed()).generateRun(runWriter, 1, 69);
+			new InfernoWaveGenerator(config.syntheticSeed()).generateStress(stressWriter, SYNTHETIC_STRESS_NIBBLERS,
+				InfernoWaveGenerator.TICKS_PER_WAVE * 10);
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to generate synthetic Inferno runs", ex);
 			return;
 		}
 
-		lastTick = System.currentTimeMillis();
+		log.info("Generated synthetic Inferno runs {} and {}", runFile, stressFile);
+	}
+
+	void onGameTick()
+	{
+		if (config.runEngineBenchmark() && infernoNpcs.isEmpty())
+		{
+			// Benchmarking clears the caches of the NPCs and takes many ticks worth of time, so it waits for a tick
+			// without any NPC which could attack the player
+			obstacles.clear();
+			calculateObstacles();
+			engineBenchmark.run(this);
+			turnOff("runEngineBenchmark");
+		}
+
+		frameClock.onGameTick();
+		long stageStart = tickProfiler.startTick(currentWaveNumber, infernoNpcs.size());
+		prayerChannel.startTick(client.getTickCount(), stageStart);
+
+		final boolean scorePredictions = config.predictionScoreboard();
+
+		if (scorePredictions)
+		{
+			predictionScoreboard.observe(infernoNpcs);
+			stageStart = tickProfiler.restartStage();
+		}
 
 		WorldPoint playerLoc = client.getLocalPlayer().getWorldLocation();
 		npcPrediction.onGameTick(infernoNpcs, client, playerLoc);
-		Prayer advancedRecommendedPrayer = prayerRecommendation.recommendPrayer(
-				infernoNpcs, client, playerLoc, safeSpotMap
-		);
-		if (!Objects.equals(advancedRecommendedPrayer, attackToPrayer(closestAttack)))
+		final long predictionStart = stageStart;
+		stageStart = tickProfiler.record(InfernoTickProfiler.Stage.NPC_PREDICTION, stageStart);
+		final long predictionNanos = stageStart - predictionStart;
+
+		writeTrace = config.writeEngineTrace();
+		traceTick = client.getTickCount();
+		final long traceAllocationStart = writeTrace ? InfernoTickProfiler.getAllocatedBytes() : 0;
+		final long upcomingStart = stageStart;
+
+		upcomingAttacks.clear();
+		calculateUpcomingAttacks(scorePredictions, playerLoc,
+			computationGraph.isRequired(InfernoComputationGraph.Computation.UPCOMING_ATTACKS));
+		stageStart = tickProfiler.record(InfernoTickProfiler.Stage.UPCOMING_ATTACKS, stageStart);
+		traceUpcomingNanos = stageStart - upcomingStart;
+
+		final Prayer recommendedPrayer = prayerRecommendation.recommendPrayer(threatEvaluation, playerLoc, safeSpotMap);
+
+		if (!Objects.equals(recommendedPrayer, attackToPrayer(closestAttack)))
 		{
-			postPrayerRecommendation(advancedRecommendedPrayer);
-			closestAttack = advancedRecommendedPrayer == null ? null : inferAttackFromPrayer(advancedRecommendedPrayer);
-			lastRecommendedAttack = closestAttack;
+			prayerChannel.propose(recommendedPrayer);
 		}
 
-		upcomingAttacks.clear();
-		calculateUpcomingAttacks();
+		stageStart = tickProfiler.record(InfernoTickProfiler.Stage.RECOMMEND_PRAYER, stageStart);
 
+		final long closestStart = stageStart;
 		closestAttack = null;
 		calculateClosestAttack();
+		stageStart = tickProfiler.record(InfernoTickProfiler.Stage.CLOSEST_ATTACK, stageStart);
+		traceUpcomingNanos += stageStart - closestStart;
+
+		prayerChannel.publish(currentWaveNumber);
+		tickProfiler.recordPrayerPublished();
+
+		if (writeTrace)
+		{
+			traceAllocatedBytes = InfernoTickProfiler.getAllocatedBytes() - traceAllocationStart;
+		}
+
+		if (scorePredictions)
+		{
+			predictionScoreboard.addCost(InfernoPredictionScoreboard.Engine.CYCLE, predictionNanos);
+			predictionScoreboard.capture(infernoNpcs, npcPrediction);
+		}
 
+		if (config.deferSecondaryStages())
+		{
+			tickProfiler.suspendTick();
+			secondaryStagesPending = true;
+		}
+		else
+		{
+			runSecondaryStages();
+		}
+	}
+
+	/**
+	 * Everything of the tick the prayer recommendation doesn't depend on, run right after it was published, or once
+	 * the other subscribers have seen the game tick, before the next frame or client tick.
+	 */
+	private void runSecondaryStages()
+	{
+		long stageStart = secondaryStagesPending ? tickProfiler.resumeTick() : tickProfiler.restartStage();
+		secondaryStagesPending = false;
+
+		final long safespotStart = stageStart;
+		final long safespotAllocationStart = writeTrace ? InfernoTickProfiler.getAllocatedBytes() : 0;
 		safeSpotMap.clear();
 		calculateSafespots();
+		stageStart = tickProfiler.record(InfernoTickProfiler.Stage.SAFESPOTS, stageStart);
+
+		if (writeTrace)
+		{
+			engineTrace.write(traceTick, currentWaveNumber, traceUpcomingNanos, stageStart - safespotStart,
+				traceAllocatedBytes + InfernoTickProfiler.getAllocatedBytes() - safespotAllocationStart, closestAttack,
+				upcomingAttacks, safeSpotMap);
+			stageStart = tickProfiler.restartStage();
+		}
 
 		safeSpotAreas.clear();
 		calculateSafespotAreas();
+		stageStart = tickProfiler.record(InfernoTickProfiler.Stage.SAFESPOT_AREAS, stageStart);
 
 		obstacles.clear();
-		calculateObstacles();
+
+		if (computationGraph.isRequired(InfernoComputationGraph.Computation.OBSTACLES))
+		{
+			calculateObstacles();
+		}
+
+		if (!obstacles.equals(previousObstacles))
+		{
+			obstacleVersion++;
+			previousObstacles.clear();
+			previousObstacles.addAll(obstacles);
+		}
+
+		stageStart = tickProfiler.record(InfernoTickProfiler.Stage.OBSTACLES, stageStart);
 
 		centralNibbler = null;
-		calculateCentralNibbler();
+
+		if (computationGraph.isRequired(InfernoComputationGraph.Computation.CENTRAL_NIBBLER))
+		{
+			calculateCentralNibbler();
+		}
+
+		stageStart = tickProfiler.record(InfernoTickProfiler.Stage.CENTRAL_NIBBLER, stageStart);
 
 		calculateSpawnTimerInfobox();
 
+		if (spawnTimerInfoBox != null)
+		{
+			spawnTimerInfoBox.onGameTick();
+		}
+
 		manageBlobDeathLocations();
+		tickProfiler.record(InfernoTickProfiler.Stage.BLOB_DEATH_LOCATIONS, stageStart);
 
 		if (finalPhaseTick)
 		{
@@ -288,17 +569,24 @@ public class InfernoPlugin extends Plugin
 		{
 			ticksSinceFinalPhase++;
 		}
-	}
 
-	private InfernoNPC.Attack inferAttackFromPrayer(Prayer prayer)
-	{
-		if (prayer == null) return null;
-		switch(prayer)
+		tickProfiler.endTick(currentWaveNumber);
+		blackBox.recordTick(currentWaveNumber, upcomingAttacks, closestAttack);
+
+		if (config.recordTicks())
 		{
-			case PROTECT_FROM_MAGIC: return InfernoNPC.Attack.MAGIC;
-			case PROTECT_FROM_MISSILES: return InfernoNPC.Attack.RANGED;
-			case PROTECT_FROM_MELEE: return InfernoNPC.Attack.MELEE;
-			default: return null;
+			tickRecorder.start();
+			tickRecorder.recordTick(currentWaveNumber);
+		}
+		else
+		{
+			tickRecorder.stop();
+		}
+
+		if (config.runRenderBenchmark())
+		{
+			renderBenchmark.run(this);
+			turnOff("runRenderBenchmark");
 		}
 	}
 
@@ -314,26 +602,75 @@ public class InfernoPlugin extends Plugin
 		}
 	}
 
-	private void postPrayerRecommendation(Prayer prayer)
+	/**
+	 * Posted at the end of every client cycle, including the one which posted the game tick, so secondary stages
+	 * which no frame picked up still run on the state of the tick which produced them.
+	 */
+	void onClientTick()
+	{
+		if (secondaryStagesPending)
+		{
+			runSecondaryStages();
+		}
+	}
+
+	void onBeforeRender()
 	{
-		String prayerName = prayer != null ? prayer.name().toLowerCase() : null;
-		RecommendedPrayerChangedEvent event = new RecommendedPrayerChangedEvent(prayerName);
-		eventBus.post(event);
+		frameClock.onBeforeRender();
+
+		if (secondaryStagesPending)
+		{
+			runSecondaryStages();
+		}
+		else if (safespotPendingRing >= 0)
+		{
+			continueNormalSafespots(System.nanoTime() + config.safespotBudget() * 1_000_000L);
+			safeSpotAreas.clear();
+			calculateSafespotAreas();
+		}
 	}
 
 	@Subscribe
-	private void onNpcSpawned(NpcSpawned event)
+	private void onWidgetLoaded(WidgetLoaded event)
 	{
-		if (!isInInferno())
+		if (event.getGroupId() == InfernoPrayerWidgetCache.getPrayerWidgetGroupId())
 		{
-			return;
+			prayerWidgetCache.invalidate();
 		}
+	}
+
+	@Subscribe
+	private void onCanvasSizeChanged(CanvasSizeChanged event)
+	{
+		prayerWidgetCache.invalidate();
+	}
 
-		final int npcId = event.getNpc().getId();
+	@Subscribe
+	private void onResizeableChanged(ResizeableChanged event)
+	{
+		prayerWidgetCache.invalidate();
+	}
+
+	@Subscribe
+	private void onVarClientIntChanged(VarClientIntChanged event)
+	{
+		// Switching side panel tabs is tracked by a client int and toggles the prayer widgets' visibility
+		prayerWidgetCache.onVarClientIntChanged(event.getIndex());
+	}
+
+	void onNpcSpawned(NPC npc)
+	{
+		final int npcId = npc.getId();
 
 		if (npcId == net.runelite.api.NpcID.ANCESTRAL_GLYPH)
 		{
-			zukShield = event.getNpc();
+			zukShield = npc;
+			return;
+		}
+
+		if (isPillar(npcId))
+		{
+			invalidateArena();
 			return;
 		}
 
@@ -347,13 +684,14 @@ public class InfernoPlugin extends Plugin
 		switch (infernoNPCType)
 		{
 			case BLOB:
-				infernoNpcs.add(new InfernoNPC(event.getNpc()));
+				infernoNpcs.add(new InfernoNPC(npc, tickProfiler, animationStore));
 				return;
 			case MAGE:
 				if (zuk != null && spawnTimerInfoBox != null)
 				{
 					spawnTimerInfoBox.reset();
 					spawnTimerInfoBox.run();
+					spawnTimerChanged = true;
 				}
 				break;
 			case ZUK:
@@ -365,7 +703,11 @@ public class InfernoPlugin extends Plugin
 
 				if (config.spawnTimerInfobox())
 				{
-					zuk = event.getNpc();
+					zuk = npc;
+
+					final Integer zukHealth = npcManager.getHealth(zuk.getId());
+					zukMaxHp = zukHealth == null ? -1 : zukHealth;
+					spawnTimerChanged = false;
 
 					if (spawnTimerInfoBox != null)
 					{
@@ -391,19 +733,19 @@ public class InfernoPlugin extends Plugin
 				break;
 		}
 
-		infernoNpcs.add(0, new InfernoNPC(event.getNpc()));
+		infernoNpcs.add(0, new InfernoNPC(npc, tickProfiler, animationStore));
 	}
 
-	@Subscribe
-	private void onNpcDespawned(NpcDespawned event)
+	void onNpcDespawned(NPC npc)
 	{
-		if (!isInInferno())
+		animationStore.onNpcDespawned(npc);
+		int npcId = npc.getId();
+
+		if (isPillar(npcId))
 		{
-			return;
+			invalidateArena();
 		}
 
-		int npcId = event.getNpc().getId();
-
 		switch (npcId)
 		{
 			case net.runelite.api.NpcID.ANCESTRAL_GLYPH:
@@ -423,21 +765,24 @@ public class InfernoPlugin extends Plugin
 				break;
 		}
 
-		infernoNpcs.removeIf(infernoNPC -> infernoNPC.getNpc() == event.getNpc());
+		infernoNpcs.removeIf(infernoNPC -> infernoNPC.getNpc() == npc);
 	}
 
-	@Subscribe
-	private void onAnimationChanged(AnimationChanged event)
+	void onHitsplatApplied(Actor actor)
 	{
-		if (client.getGameState() != GameState.LOGGED_IN && !isInInferno())
+		if (actor == zuk)
 		{
-			return;
+			spawnTimerChanged = true;
 		}
+	}
 
-		if (event.getActor() instanceof NPC)
+	void onAnimationChanged(Actor actor)
+	{
+		if (actor instanceof NPC)
 		{
-			final NPC npc = (NPC) event.getActor();
-			int animationId = net.runelite.client.plugins.kotoriutils.ReflectionLibrary.getNpcAnimationId(npc);
+			final NPC npc = (NPC) actor;
+			animationStore.onAnimationChanged(npc);
+			final int animationId = animationStore.getAnimation(npc);
 
 			if (ArrayUtils.contains(InfernoNPC.Type.NIBBLER.getNpcIds(), npc.getId())
 					&& animationId == 7576)
@@ -456,32 +801,33 @@ public class InfernoPlugin extends Plugin
 	@Subscribe
 	private void onGameStateChanged(GameStateChanged event)
 	{
-		if (event.getGameState() != GameState.LOGGED_IN)
-		{
-			return;
-		}
+		prayerWidgetCache.invalidate();
 
-		if (!isInInferno())
+		if (event.getGameState() == GameState.LOGGED_IN)
 		{
-			shutDown();
+			// The scene was loaded again, with it the collision data the line of sight checks use
+			invalidateArena();
+			updateRegion();
 		}
-		else if (currentWaveNumber == -1)
+	}
+
+	void onActorDeath(Actor actor)
+	{
+		if (actor == client.getLocalPlayer())
 		{
-			init();
-			infernoNpcs.clear();
-			currentWaveNumber = 1;
+			blackBox.dump("death");
 		}
 	}
 
-	@Subscribe
-	private void onChatMessage(net.runelite.api.events.ChatMessage event)
+	void onChatMessage(net.runelite.api.events.ChatMessage event)
 	{
-		if (!isInInferno() || event.getType() != ChatMessageType.GAMEMESSAGE)
+		if (event.getType() != ChatMessageType.GAMEMESSAGE)
 		{
 			return;
 		}
 
 		String message = event.getMessage();
+		tickRecorder.onChatMessage(message);
 
 		if (event.getMessage().contains("Wave:"))
 		{
@@ -492,7 +838,7 @@ public class InfernoPlugin extends Plugin
 
 	public boolean isInInferno()
 	{
-		return net.runelite.client.plugins.kotoriutils.methods.MiscUtilities.getPlayerRegionID() == INFERNO_REGION;
+		return inInferno;
 	}
 
 	public List<InfernoNPC> getInfernoNpcs()
@@ -525,11 +871,26 @@ public class InfernoPlugin extends Plugin
 		return closestAttack;
 	}
 
-	private void calculateUpcomingAttacks()
+	/**
+	 * The single pass over the NPCs of the tick. Advances every NPC's attack cycle, builds the upcoming attack
+	 * timeline if anything reads it and fills in the {@link InfernoThreatEvaluation} of the tick.
+	 */
+	private void calculateUpcomingAttacks(boolean scorePredictions, WorldPoint playerLoc, boolean buildTimeline)
 	{
+		threatEvaluation.reset();
+
 		for (InfernoNPC infernoNPC : infernoNpcs)
 		{
-			infernoNPC.gameTick(client, lastLocation, finalPhase, ticksSinceFinalPhase);
+			if (scorePredictions)
+			{
+				final long start = System.nanoTime();
+				infernoNPC.gameTick(client, lastLocation, finalPhase, ticksSinceFinalPhase, arenaVersion, obstacleVersion);
+				predictionScoreboard.addCost(InfernoPredictionScoreboard.Engine.ANIMATION, System.nanoTime() - start);
+			}
+			else
+			{
+				infernoNPC.gameTick(client, lastLocation, finalPhase, ticksSinceFinalPhase, arenaVersion, obstacleVersion);
+			}
 
 			if (infernoNPC.getType() == InfernoNPC.Type.ZUK && zukShieldCornerTicks == -1)
 			{
@@ -537,228 +898,123 @@ public class InfernoPlugin extends Plugin
 				zukShieldCornerTicks = 0;
 			}
 
-			if (infernoNPC.getTicksTillNextAttack() > 0 && isPrayerHelper(infernoNPC)
+			if (infernoNPC.getType() == InfernoNPC.Type.BLOB)
+			{
+				threatEvaluation.setBlobAlive();
+			}
+
+			if (npcPrediction.getTicksUntilNextAttack(infernoNPC.getNpc()) == 0)
+			{
+				final InfernoNPC.Attack incomingAttack = npcPrediction.getNextAttack(infernoNPC.getNpc());
+
+				if (incomingAttack != null && incomingAttack != InfernoNPC.Attack.UNKNOWN
+						&& infernoNPC.canAttack(client, playerLoc))
+				{
+					threatEvaluation.addIncoming(incomingAttack);
+				}
+			}
+
+			final int ticksTillNextAttack = infernoNPC.getTicksTillNextAttack();
+
+			if (buildTimeline && ticksTillNextAttack > 0 && isPrayerHelper(infernoNPC)
 					&& (infernoNPC.getNextAttack() != InfernoNPC.Attack.UNKNOWN
 					|| (config.indicateBlobDetectionTick() && infernoNPC.getType() == InfernoNPC.Type.BLOB
-					&& infernoNPC.getTicksTillNextAttack() >= 4)))
+					&& ticksTillNextAttack >= 4)))
 			{
-				upcomingAttacks.computeIfAbsent(infernoNPC.getTicksTillNextAttack(), k -> new HashMap<>());
+				final Map<InfernoNPC.Attack, Integer> attackTick = upcomingAttacks.computeIfAbsent(ticksTillNextAttack, k -> new HashMap<>());
 
 				if (config.indicateBlobDetectionTick() && infernoNPC.getType() == InfernoNPC.Type.BLOB
-						&& infernoNPC.getTicksTillNextAttack() >= 4)
+						&& ticksTillNextAttack >= 4)
 				{
-					upcomingAttacks.computeIfAbsent(infernoNPC.getTicksTillNextAttack() - 3, k -> new HashMap<>());
-					upcomingAttacks.computeIfAbsent(infernoNPC.getTicksTillNextAttack() - 4, k -> new HashMap<>());
+					final int detectionTick = ticksTillNextAttack - 3;
+					final Map<InfernoNPC.Attack, Integer> detection = upcomingAttacks.computeIfAbsent(detectionTick, k -> new HashMap<>());
+					final Map<InfernoNPC.Attack, Integer> beforeDetection = upcomingAttacks.computeIfAbsent(ticksTillNextAttack - 4, k -> new HashMap<>());
+					final int priority = InfernoNPC.Type.BLOB.getPriority();
 
-					if (upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 3).containsKey(InfernoNPC.Attack.MAGIC))
+					if (detection.containsKey(InfernoNPC.Attack.MAGIC))
 					{
-						if (upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 3).get(InfernoNPC.Attack.MAGIC) > InfernoNPC.Type.BLOB.getPriority())
-						{
-							upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 3).put(InfernoNPC.Attack.MAGIC, InfernoNPC.Type.BLOB.getPriority());
-						}
+						addUpcomingAttack(detectionTick, InfernoNPC.Attack.MAGIC, priority);
 					}
-					else if (upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 3).containsKey(InfernoNPC.Attack.RANGED))
+					else if (detection.containsKey(InfernoNPC.Attack.RANGED))
 					{
-						if (upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 3).get(InfernoNPC.Attack.RANGED) > InfernoNPC.Type.BLOB.getPriority())
-						{
-							upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 3).put(InfernoNPC.Attack.RANGED, InfernoNPC.Type.BLOB.getPriority());
-						}
+						addUpcomingAttack(detectionTick, InfernoNPC.Attack.RANGED, priority);
 					}
-					else if (upcomingAttacks.get(infernoNPC.getTicksTillNextAttack()).containsKey(InfernoNPC.Attack.MAGIC)
-							|| upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 4).containsKey(InfernoNPC.Attack.MAGIC))
+					else if (attackTick.containsKey(InfernoNPC.Attack.MAGIC) || beforeDetection.containsKey(InfernoNPC.Attack.MAGIC))
 					{
-						if (!upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 3).containsKey(InfernoNPC.Attack.RANGED)
-								|| upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 3).get(InfernoNPC.Attack.RANGED) > InfernoNPC.Type.BLOB.getPriority())
-						{
-							upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 3).put(InfernoNPC.Attack.RANGED, InfernoNPC.Type.BLOB.getPriority());
-						}
+						addUpcomingAttack(detectionTick, InfernoNPC.Attack.RANGED, priority);
 					}
-					else if (upcomingAttacks.get(infernoNPC.getTicksTillNextAttack()).containsKey(InfernoNPC.Attack.RANGED)
-							|| upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 4).containsKey(InfernoNPC.Attack.RANGED))
+					else if (attackTick.containsKey(InfernoNPC.Attack.RANGED) || beforeDetection.containsKey(InfernoNPC.Attack.RANGED))
 					{
-						if (!upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 3).containsKey(InfernoNPC.Attack.MAGIC)
-								|| upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 3).get(InfernoNPC.Attack.MAGIC) > InfernoNPC.Type.BLOB.getPriority())
-						{
-							upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 3).put(InfernoNPC.Attack.MAGIC, InfernoNPC.Type.BLOB.getPriority());
-						}
+						addUpcomingAttack(detectionTick, InfernoNPC.Attack.MAGIC, priority);
 					}
 					else
 					{
-						upcomingAttacks.get(infernoNPC.getTicksTillNextAttack() - 3).put(InfernoNPC.Attack.MAGIC, InfernoNPC.Type.BLOB.getPriority());
+						addUpcomingAttack(detectionTick, InfernoNPC.Attack.MAGIC, priority);
 					}
 				}
 				else
 				{
-					final InfernoNPC.Attack attack = infernoNPC.getNextAttack();
-					final int priority = infernoNPC.getType().getPriority();
-
-					if (!upcomingAttacks.get(infernoNPC.getTicksTillNextAttack()).containsKey(attack)
-							|| upcomingAttacks.get(infernoNPC.getTicksTillNextAttack()).get(attack) > priority)
-					{
-						upcomingAttacks.get(infernoNPC.getTicksTillNextAttack()).put(attack, priority);
-					}
+					addUpcomingAttack(ticksTillNextAttack, infernoNPC.getNextAttack(), infernoNPC.getType().getPriority());
 				}
 			}
 		}
 	}
 
-	private void calculateClosestAttack()
+	/**
+	 * Puts the attack on the timeline unless it's already there with a lower priority.
+	 */
+	private void addUpcomingAttack(int tick, InfernoNPC.Attack attack, int priority)
 	{
-		if (config.prayerDisplayMode() == InfernoPrayerDisplayMode.PRAYER_TAB
-				|| config.prayerDisplayMode() == InfernoPrayerDisplayMode.BOTH)
-		{
-			int closestTick = 999;
-			int closestPriority = 999;
-			InfernoNPC.Attack previousClosestAttack = closestAttack;
+		final Map<InfernoNPC.Attack, Integer> attackPriority = upcomingAttacks.computeIfAbsent(tick, k -> new HashMap<>());
+		final Integer currentPriority = attackPriority.get(attack);
 
-			for (Integer tick : upcomingAttacks.keySet())
-			{
-				final Map<InfernoNPC.Attack, Integer> attackPriority = upcomingAttacks.get(tick);
+		if (currentPriority == null || currentPriority > priority)
+		{
+			attackPriority.put(attack, priority);
+			threatEvaluation.addUpcoming(tick, attack, priority);
+		}
+	}
 
-				for (InfernoNPC.Attack currentAttack : attackPriority.keySet())
-				{
-					final int currentPriority = attackPriority.get(currentAttack);
-					if (tick < closestTick || (tick == closestTick && currentPriority < closestPriority))
-					{
-						closestAttack = currentAttack;
-						closestPriority = currentPriority;
-						closestTick = tick;
-					}
-				}
-			}
+	private void calculateClosestAttack()
+	{
+		if (computationGraph.isRequired(InfernoComputationGraph.Computation.CLOSEST_ATTACK))
+		{
+			closestAttack = threatEvaluation.getClosestAttack();
 
-			if (closestAttack != previousClosestAttack)
+			if (closestAttack != null)
 			{
-				Prayer recommendedPrayer = attackToPrayer(closestAttack);
-				postPrayerRecommendation(recommendedPrayer);
-				lastRecommendedAttack = closestAttack;
+				prayerChannel.propose(attackToPrayer(closestAttack));
 			}
 		}
 	}
 
 	private void calculateSafespots()
 	{
+		safespotPendingRing = -1;
+
 		if (currentWaveNumber < 69)
 		{
-			if (config.safespotDisplayMode() != InfernoSafespotDisplayMode.OFF)
+			if (computationGraph.isRequired(InfernoComputationGraph.Computation.SAFESPOTS))
 			{
-				int checkSize = (int) Math.floor(config.safespotsCheckSize() / 2.0);
+				final int safespotBudget = config.safespotBudget();
 
-				for (int x = -checkSize; x <= checkSize; x++)
+				// The engine trace compares complete safespots
+				if (safespotBudget == 0 || writeTrace)
 				{
-					for (int y = -checkSize; y <= checkSize; y++)
-					{
-						final WorldPoint checkLoc = client.getLocalPlayer().getWorldLocation().dx(x).dy(y);
-
-						if (obstacles.contains(checkLoc))
-						{
-							continue;
-						}
-
-						for (InfernoNPC infernoNPC : infernoNpcs)
-						{
-							if (!isNormalSafespots(infernoNPC))
-							{
-								continue;
-							}
-
-							if (!safeSpotMap.containsKey(checkLoc))
-							{
-								safeSpotMap.put(checkLoc, 0);
-							}
-
-							if (infernoNPC.canAttack(client, checkLoc)
-									|| infernoNPC.canMoveToAttack(client, checkLoc, obstacles))
-							{
-								if (infernoNPC.getType().getDefaultAttack() == InfernoNPC.Attack.MELEE)
-								{
-									if (safeSpotMap.get(checkLoc) == 0)
-									{
-										safeSpotMap.put(checkLoc, 1);
-									}
-									else if (safeSpotMap.get(checkLoc) == 2)
-									{
-										safeSpotMap.put(checkLoc, 4);
-									}
-									else if (safeSpotMap.get(checkLoc) == 3)
-									{
-										safeSpotMap.put(checkLoc, 5);
-									}
-									else if (safeSpotMap.get(checkLoc) == 6)
-									{
-										safeSpotMap.put(checkLoc, 7);
-									}
-								}
-
-								if (infernoNPC.getType().getDefaultAttack() == InfernoNPC.Attack.MAGIC
-										|| (infernoNPC.getType() == InfernoNPC.Type.BLOB
-										&& safeSpotMap.get(checkLoc) != 2 && safeSpotMap.get(checkLoc) != 4))
-								{
-									if (safeSpotMap.get(checkLoc) == 0)
-									{
-										safeSpotMap.put(checkLoc, 3);
-									}
-									else if (safeSpotMap.get(checkLoc) == 1)
-									{
-										safeSpotMap.put(checkLoc, 5);
-									}
-									else if (safeSpotMap.get(checkLoc) == 2)
-									{
-										safeSpotMap.put(checkLoc, 6);
-									}
-									else if (safeSpotMap.get(checkLoc) == 5)
-									{
-										safeSpotMap.put(checkLoc, 7);
-									}
-								}
-
-								if (infernoNPC.getType().getDefaultAttack() == InfernoNPC.Attack.RANGED
-										|| (infernoNPC.getType() == InfernoNPC.Type.BLOB
-										&& safeSpotMap.get(checkLoc) != 3 && safeSpotMap.get(checkLoc) != 5))
-								{
-									if (safeSpotMap.get(checkLoc) == 0)
-									{
-										safeSpotMap.put(checkLoc, 2);
-									}
-									else if (safeSpotMap.get(checkLoc) == 1)
-									{
-										safeSpotMap.put(checkLoc, 4);
-									}
-									else if (safeSpotMap.get(checkLoc) == 3)
-									{
-										safeSpotMap.put(checkLoc, 6);
-									}
-									else if (safeSpotMap.get(checkLoc) == 4)
-									{
-										safeSpotMap.put(checkLoc, 7);
-									}
-								}
-
-								if (infernoNPC.getType() == InfernoNPC.Type.JAD
-										&& infernoNPC.getNpc().getWorldArea().isInMeleeDistance(checkLoc))
-								{
-									if (safeSpotMap.get(checkLoc) == 0)
-									{
-										safeSpotMap.put(checkLoc, 1);
-									}
-									else if (safeSpotMap.get(checkLoc) == 2)
-									{
-										safeSpotMap.put(checkLoc, 4);
-									}
-									else if (safeSpotMap.get(checkLoc) == 3)
-									{
-										safeSpotMap.put(checkLoc, 5);
-									}
-									else if (safeSpotMap.get(checkLoc) == 6)
-									{
-										safeSpotMap.put(checkLoc, 7);
-									}
-								}
-							}
-						}
-					}
+					calculateNormalSafespots(config.safespotsCheckSize());
+				}
+				else
+				{
+					startNormalSafespots(config.safespotsCheckSize(), System.nanoTime() + safespotBudget * 1_000_000L);
 				}
 			}
+			else if (computationGraph.isRequired(InfernoComputationGraph.Computation.PLAYER_SAFESPOT))
+			{
+				// The prayer recommendation of the next tick checks whether the player stands on a true safespot
+				final WorldPoint center = client.getLocalPlayer().getWorldLocation();
+				calculateSafespotRing(center, 0);
+				calculateSafespotRing(center, 1);
+			}
 		}
 		else if (currentWaveNumber == 69 && zukShield != null)
 		{
@@ -806,7 +1062,7 @@ public class InfernoPlugin extends Plugin
 
 			zukShieldLastPosition = zukShieldCurrentPosition;
 
-			if (config.safespotDisplayMode() != InfernoSafespotDisplayMode.OFF)
+			if (computationGraph.isRequired(InfernoComputationGraph.Computation.SAFESPOTS))
 			{
 				if ((finalPhase && config.safespotsZukShieldAfterHealers() == InfernoZukShieldDisplayMode.LIVE)
 						|| (!finalPhase && config.safespotsZukShieldBeforeHealers() == InfernoZukShieldDisplayMode.LIVE))
@@ -830,6 +1086,182 @@ public class InfernoPlugin extends Plugin
 		}
 	}
 
+	/**
+	 * Calculates all safespots around the player at once.
+	 */
+	void calculateNormalSafespots(int safespotsCheckSize)
+	{
+		final WorldPoint center = client.getLocalPlayer().getWorldLocation();
+		final int rings = safespotsCheckSize / 2;
+
+		for (int ring = 0; ring <= rings; ring++)
+		{
+			calculateSafespotRing(center, ring);
+		}
+	}
+
+	/**
+	 * Calculates the safespots around the player ring by ring, from the player outwards, until the deadline has
+	 * passed. The player's tile and its neighbours are always calculated, the remaining rings are left pending for
+	 * {@link #continueNormalSafespots(long)}.
+	 */
+	private void startNormalSafespots(int safespotsCheckSize, long deadline)
+	{
+		safespotCenter = client.getLocalPlayer().getWorldLocation();
+		safespotRings = safespotsCheckSize / 2;
+		safespotPendingRing = 0;
+		continueNormalSafespots(deadline);
+	}
+
+	private void continueNormalSafespots(long deadline)
+	{
+		while (true)
+		{
+			calculateSafespotRing(safespotCenter, safespotPendingRing);
+
+			if (++safespotPendingRing > safespotRings)
+			{
+				safespotPendingRing = -1;
+				return;
+			}
+
+			if (safespotPendingRing > 1 && System.nanoTime() - deadline > 0)
+			{
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Calculates the tiles at exactly {@code ring} tiles from the center, walking the ring's edges.
+	 */
+	private void calculateSafespotRing(WorldPoint center, int ring)
+	{
+		if (ring == 0)
+		{
+			calculateSafespot(center);
+			return;
+		}
+
+		for (int i = -ring; i < ring; i++)
+		{
+			calculateSafespot(center.dx(i).dy(-ring));
+			calculateSafespot(center.dx(ring).dy(i));
+			calculateSafespot(center.dx(-i).dy(ring));
+			calculateSafespot(center.dx(-ring).dy(-i));
+		}
+	}
+
+	private void calculateSafespot(WorldPoint checkLoc)
+	{
+		if (obstacles.contains(checkLoc))
+		{
+			return;
+		}
+
+		for (InfernoNPC infernoNPC : infernoNpcs)
+		{
+			if (!isNormalSafespots(infernoNPC))
+			{
+				continue;
+			}
+
+			if (!safeSpotMap.containsKey(checkLoc))
+			{
+				safeSpotMap.put(checkLoc, 0);
+			}
+
+			if (infernoNPC.canAttack(client, checkLoc)
+					|| infernoNPC.canMoveToAttack(client, checkLoc, obstacles))
+			{
+				if (infernoNPC.getType().getDefaultAttack() == InfernoNPC.Attack.MELEE)
+				{
+					if (safeSpotMap.get(checkLoc) == 0)
+					{
+						safeSpotMap.put(checkLoc, 1);
+					}
+					else if (safeSpotMap.get(checkLoc) == 2)
+					{
+						safeSpotMap.put(checkLoc, 4);
+					}
+					else if (safeSpotMap.get(checkLoc) == 3)
+					{
+						safeSpotMap.put(checkLoc, 5);
+					}
+					else if (safeSpotMap.get(checkLoc) == 6)
+					{
+						safeSpotMap.put(checkLoc, 7);
+					}
+				}
+
+				if (infernoNPC.getType().getDefaultAttack() == InfernoNPC.Attack.MAGIC
+						|| (infernoNPC.getType() == InfernoNPC.Type.BLOB
+						&& safeSpotMap.get(checkLoc) != 2 && safeSpotMap.get(checkLoc) != 4))
+				{
+					if (safeSpotMap.get(checkLoc) == 0)
+					{
+						safeSpotMap.put(checkLoc, 3);
+					}
+					else if (safeSpotMap.get(checkLoc) == 1)
+					{
+						safeSpotMap.put(checkLoc, 5);
+					}
+					else if (safeSpotMap.get(checkLoc) == 2)
+					{
+						safeSpotMap.put(checkLoc, 6);
+					}
+					else if (safeSpotMap.get(checkLoc) == 5)
+					{
+						safeSpotMap.put(checkLoc, 7);
+					}
+				}
+
+				if (infernoNPC.getType().getDefaultAttack() == InfernoNPC.Attack.RANGED
+						|| (infernoNPC.getType() == InfernoNPC.Type.BLOB
+						&& safeSpotMap.get(checkLoc) != 3 && safeSpotMap.get(checkLoc) != 5))
+				{
+					if (safeSpotMap.get(checkLoc) == 0)
+					{
+						safeSpotMap.put(checkLoc, 2);
+					}
+					else if (safeSpotMap.get(checkLoc) == 1)
+					{
+						safeSpotMap.put(checkLoc, 4);
+					}
+					else if (safeSpotMap.get(checkLoc) == 3)
+					{
+						safeSpotMap.put(checkLoc, 6);
+					}
+					else if (safeSpotMap.get(checkLoc) == 4)
+					{
+						safeSpotMap.put(checkLoc, 7);
+					}
+				}
+
+				if (infernoNPC.getType() == InfernoNPC.Type.JAD
+						&& infernoNPC.getNpc().getWorldArea().isInMeleeDistance(checkLoc))
+				{
+					if (safeSpotMap.get(checkLoc) == 0)
+					{
+						safeSpotMap.put(checkLoc, 1);
+					}
+					else if (safeSpotMap.get(checkLoc) == 2)
+					{
+						safeSpotMap.put(checkLoc, 4);
+					}
+					else if (safeSpotMap.get(checkLoc) == 3)
+					{
+						safeSpotMap.put(checkLoc, 5);
+					}
+					else if (safeSpotMap.get(checkLoc) == 6)
+					{
+						safeSpotMap.put(checkLoc, 7);
+					}
+				}
+			}
+		}
+	}
+
 	private void drawZukPredictedSafespot()
 	{
 		final WorldPoint zukShieldCurrentPosition = zukShield.getWorldLocation();
@@ -911,7 +1343,7 @@ public class InfernoPlugin extends Plugin
 
 	private void calculateSafespotAreas()
 	{
-		if (config.safespotDisplayMode() == InfernoSafespotDisplayMode.AREA)
+		if (computationGraph.isRequired(InfernoComputationGraph.Computation.SAFESPOT_AREAS))
 		{
 			for (WorldPoint worldPoint : safeSpotMap.keySet())
 			{
@@ -927,6 +1359,18 @@ public class InfernoPlugin extends Plugin
 		lastLocation = client.getLocalPlayer().getWorldLocation();
 	}
 
+	private void invalidateArena()
+	{
+		arenaVersion++;
+		// Moving to attack is checked against the line of sight as well
+		obstacleVersion++;
+	}
+
+	private static boolean isPillar(int npcId)
+	{
+		return npcId == net.runelite.api.NpcID.ROCKY_SUPPORT || npcId == net.runelite.api.NpcID.ROCKY_SUPPORT_7710;
+	}
+
 	private void calculateObstacles()
 	{
 		for (NPC npc : NPCInteractions.getNpcs())
@@ -937,7 +1381,7 @@ public class InfernoPlugin extends Plugin
 
 	private void manageBlobDeathLocations()
 	{
-		if (config.indicateBlobDeathLocation())
+		if (computationGraph.isRequired(InfernoComputationGraph.Computation.BLOB_DEATH_LOCATIONS))
 		{
 			blobDeathSpots.forEach(InfernoBlobDeathSpot::decrementTick);
 			blobDeathSpots.removeIf(InfernoBlobDeathSpot::isDone);
@@ -946,62 +1390,29 @@ public class InfernoPlugin extends Plugin
 
 	private void calculateCentralNibbler()
 	{
-		InfernoNPC bestNibbler = null;
-		int bestAmountInArea = 0;
-		int bestDistanceToPlayer = 999;
+		final int centralNibblerIndex = InfernoEngineCore.findCentralNibbler(
+			arenaView.update(client.getLocalPlayer().getWorldLocation(), infernoNpcs));
 
-		for (InfernoNPC infernoNPC : infernoNpcs)
+		if (centralNibblerIndex >= 0)
 		{
-			if (infernoNPC.getType() != InfernoNPC.Type.NIBBLER)
-			{
-				continue;
-			}
-
-			int amountInArea = 0;
-			final int distanceToPlayer = infernoNPC.getNpc().getWorldLocation().distanceTo(client.getLocalPlayer().getWorldLocation());
-
-			for (InfernoNPC checkNpc : infernoNpcs)
-			{
-				if (checkNpc.getType() != InfernoNPC.Type.NIBBLER
-						|| checkNpc.getNpc().getWorldArea().distanceTo(infernoNPC.getNpc().getWorldArea()) > 1)
-				{
-					continue;
-				}
-
-				amountInArea++;
-			}
-
-			if (amountInArea > bestAmountInArea
-					|| (amountInArea == bestAmountInArea && distanceToPlayer < bestDistanceToPlayer))
-			{
-				bestNibbler = infernoNPC;
-				bestAmountInArea = amountInArea;
-				bestDistanceToPlayer = distanceToPlayer;
-			}
-		}
-
-		if (bestNibbler != null)
-		{
-			centralNibbler = bestNibbler;
+			centralNibbler = infernoNpcs.get(centralNibblerIndex);
 		}
 	}
 
 	private void calculateSpawnTimerInfobox()
 	{
-		if (zuk == null || finalPhase || spawnTimerInfoBox == null)
+		if (zuk == null || finalPhase || spawnTimerInfoBox == null || !spawnTimerChanged)
 		{
 			return;
 		}
 
+		spawnTimerChanged = false;
+
 		final int pauseHp = 600;
 		final int resumeHp = 480;
 
-		Integer zulHealth = npcManager.getHealth(zuk.getId());
-		if (zulHealth == null)
-		{
-			return;
-		}
-		int hp = calculateNpcHp(zuk.getHealthRatio(), zuk.getHealthScale(), zulHealth);
+		// The health bar of the hit is only applied after the hitsplat, so it's read on the tick after it
+		final int hp = calculateNpcHp(zuk.getHealthRatio(), zuk.getHealthScale(), zukMaxHp);
 
 		if (hp <= 0)
 		{
@@ -1164,16 +1575,6 @@ public class InfernoPlugin extends Plugin
 
 	public boolean isFlickPossible()
 	{
-		WorldPoint playerLoc = client.getLocalPlayer() != null ? client.getLocalPlayer().getWorldLocation() : null;
-		java.util.Set<InfernoNPC.Attack> incoming = prayerRecommendation.getIncomingAttacks(infernoNpcs, client, playerLoc);
-		return incoming.size() == 1 && !hasActiveBlob();
-	}
-
-	private boolean hasActiveBlob()
-	{
-		for (InfernoNPC npc : infernoNpcs)
-			if (npc.getType() == InfernoNPC.Type.BLOB)
-				return true;
-		return false;
+		return threatEvaluation.isFlickPossible();
 	}
 }
\ No newline at end of file
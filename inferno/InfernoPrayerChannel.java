@@ -0,0 +1,129 @@
+package net.runelite.client.plugins.inferno;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Prayer;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.plugins.PrayAgainstPlayer.RecommendedPrayerChangedEvent;
+
+/**
+ * Coalesces the prayer recommendations made during a tick into one. Every path of the tick may
+ * {@link #propose(Prayer)} a prayer, the last proposal wins and is published once by {@link #publish(int)}, and only
+ * if it differs from the prayer published before.
+ *
+ * <p>The published prayer and the tick it was published on are packed into a single volatile long, so
+ * {@link #getSnapshot()} can be read from any thread without locking or allocating.
+ */
+@Singleton
+class InfernoPrayerChannel
+{
+	private static final Prayer[] PRAYERS = Prayer.values();
+	private static final String[] PRAYER_NAMES = new String[PRAYERS.length];
+	private static final long NO_RECOMMENDATION = 0;
+
+	static
+	{
+		for (Prayer prayer : PRAYERS)
+		{
+			PRAYER_NAMES[prayer.ordinal()] = prayer.name().toLowerCase();
+		}
+	}
+
+	private final EventBus eventBus;
+
+	private volatile long snapshot = NO_RECOMMENDATION;
+
+	private Prayer proposed;
+	private Prayer published;
+	private int tick;
+	private long tickStart;
+
+	private long lastLatencyNanos;
+	private long maxLatencyNanos;
+
+	@Inject
+	InfernoPrayerChannel(final EventBus eventBus)
+	{
+		this.eventBus = eventBus;
+	}
+
+	/**
+	 * @param tickStart the nanoTime the tick started at, publish latency is measured from it
+	 */
+	void startTick(int tick, long tickStart)
+	{
+		this.tick = tick;
+		this.tickStart = tickStart;
+	}
+
+	void propose(Prayer prayer)
+	{
+		proposed = prayer;
+	}
+
+	void publish(int wave)
+	{
+		// Measured on every tick, the recommendation is final at this point whether or not it changed
+		lastLatencyNanos = System.nanoTime() - tickStart;
+		maxLatencyNanos = Math.max(maxLatencyNanos, lastLatencyNanos);
+
+		if (proposed == published)
+		{
+			return;
+		}
+
+		published = proposed;
+		snapshot = pack(published, tick);
+
+		final String prayerName = published == null ? null : PRAYER_NAMES[published.ordinal()];
+		eventBus.post(new RecommendedPrayerChangedEvent(prayerName));
+		InfernoFlightRecorder.prayerRecommendation(prayerName, wave);
+	}
+
+	/**
+	 * Withdraws the published recommendation, if any.
+	 */
+	void reset(int wave)
+	{
+		proposed = null;
+		tickStart = System.nanoTime();
+		publish(wave);
+
+		lastLatencyNanos = 0;
+		maxLatencyNanos = 0;
+	}
+
+	/**
+	 * @return the published recommendation, to be read with {@link #getPrayer(long)} and {@link #getTick(long)}
+	 */
+	long getSnapshot()
+	{
+		return snapshot;
+	}
+
+	long getLastLatencyNanos()
+	{
+		return lastLatencyNanos;
+	}
+
+	long getMaxLatencyNanos()
+	{
+		return maxLatencyNanos;
+	}
+
+	static Prayer getPrayer(long snapshot)
+	{
+		final int prayer = (int) (snapshot & 0xFF);
+		return prayer == 0 ? null : PRAYERS[prayer - 1];
+	}
+
+	static int getTick(long snapshot)
+	{
+		return (int) (snapshot >>> 8);
+	}
+
+	private static long pack(Prayer prayer, int tick)
+	{
+		return ((long) tick << 8) | (prayer == null ? 0 : prayer.ordinal() + 1);
+	}
+}
@@ -2,14 +2,15 @@ package net.runelite.client.plugins.inferno;
 
 import net.runelite.api.Prayer;
 import net.runelite.api.coords.WorldPoint;
-import net.runelite.api.Client;
 
 import java.util.*;
+import javax.inject.Singleton;
 
 /**
  * Centralized, robust prayer recommendation engine for Inferno.
- * Uses NPC attack predictions, safespot analysis, and game state.
+ * Uses the threat evaluation of the tick, safespot analysis, and game state.
  */
+@Singleton
 public class InfernoPrayerRecommendation
 {
     public enum RecommendationMode
@@ -19,29 +20,21 @@ public class InfernoPrayerRecommendation
         FIRST_IN_LIST         // Recommend prayer for the first detected attack
     }
 
-    private final InfernoNpcPrediction npcPrediction;
     private RecommendationMode mode = RecommendationMode.LEAST_DAMAGE;
 
-    public InfernoPrayerRecommendation(InfernoNpcPrediction npcPrediction)
-    {
-        this.npcPrediction = npcPrediction;
-    }
-
     public void setRecommendationMode(RecommendationMode mode)
     {
         this.mode = mode;
     }
 
     /**
-     * Recommend the optimal protection prayer for the player's current tile, given all live NPCs.
-     * @param infernoNpcs List of all live InfernoNPCs
-     * @param client      Client instance
+     * Recommend the optimal protection prayer for the player's current tile.
+     * @param threat      The threat evaluation of this tick, with the attacks landing on the player's tile
      * @param playerLoc   Player's current WorldPoint
      * @param safeSpotMap Map of safe spots (as produced by overlay logic, if available)
      * @return null if no prayer needed, or the recommended Prayer to use for this tick
      */
-    public Prayer recommendPrayer(List<InfernoNPC> infernoNpcs,
-                                  Client client,
+    public Prayer recommendPrayer(InfernoThreatEvaluation threat,
                                   WorldPoint playerLoc,
                                   Map<WorldPoint, Integer> safeSpotMap)
     {
@@ -51,52 +44,38 @@ public class InfernoPrayerRecommendation
             return null;
         }
 
-        // 2. Gather all predicted attacks on player tile for this tick
-        Map<InfernoNPC.Attack, Integer> attackCounts = new HashMap<>();
-        for (InfernoNPC npc : infernoNpcs)
-        {
-            int ticks = npcPrediction.getTicksUntilNextAttack(npc.getNpc());
-            if (ticks == 0 && canNpcAttackTile(npc, client, playerLoc))
-            {
-                InfernoNPC.Attack attack = npcPrediction.getNextAttack(npc.getNpc());
-                if (attack == null || attack == InfernoNPC.Attack.UNKNOWN)
-                    continue;
-                attackCounts.put(attack, attackCounts.getOrDefault(attack, 0) + 1);
-            }
-        }
-
-        if (attackCounts.isEmpty())
+        if (!threat.hasIncoming())
         {
             // No attacks this tick, so no prayer needed
             return null;
         }
 
-        // 3. Recommend prayer based on selected mode
+        // 2. Recommend prayer based on selected mode
         InfernoNPC.Attack chosen = null;
         switch (mode)
         {
             case MOST_COMMON:
                 int maxCount = 0;
-                for (Map.Entry<InfernoNPC.Attack, Integer> entry : attackCounts.entrySet())
+                for (InfernoNPC.Attack attack : InfernoNPC.Attack.values())
                 {
-                    if (entry.getValue() > maxCount)
+                    if (threat.getIncomingCount(attack) > maxCount)
                     {
-                        chosen = entry.getKey();
-                        maxCount = entry.getValue();
+                        chosen = attack;
+                        maxCount = threat.getIncomingCount(attack);
                     }
                 }
                 break;
             case FIRST_IN_LIST:
-                chosen = attackCounts.keySet().iterator().next();
+                chosen = threat.getFirstIncoming();
                 break;
             case LEAST_DAMAGE:
             default:
                 // Use highest priority (lowest value), or fallback to most common
                 int bestPriority = Integer.MAX_VALUE;
-                for (InfernoNPC.Attack atk : attackCounts.keySet())
+                for (InfernoNPC.Attack atk : InfernoNPC.Attack.values())
                 {
                     int priority = getAttackPriority(atk);
-                    if (priority < bestPriority)
+                    if (threat.getIncomingCount(atk) > 0 && priority < bestPriority)
                     {
                         bestPriority = priority;
                         chosen = atk;
@@ -119,17 +98,6 @@ public class InfernoPrayerRecommendation
         return val != null && val == 0;
     }
 
-    /**
-     * Can this NPC attack the specified tile? (For robust/edge-case logic)
-     */
-    private boolean canNpcAttackTile(InfernoNPC npc, Client client, WorldPoint tile)
-    {
-        // Use existing canAttack logic (meleeers: must be adjacent, others: range+los)
-        if (npc == null || tile == null)
-            return false;
-        return npc.canAttack(client, tile);
-    }
-
     /**
      * Assign a priority value to attack types for the "LEAST_DAMAGE" mode.
      * Lower number = higher priority (block this first).
@@ -145,27 +113,4 @@ public class InfernoPrayerRecommendation
             default: return 99;
         }
     }
-
-    /**
-     * Returns a set of all attack types that will hit the player's tile on this tick.
-     */
-    public Set<InfernoNPC.Attack> getIncomingAttacks(List<InfernoNPC> infernoNpcs,
-                                                     Client client,
-                                                     WorldPoint playerLoc)
-    {
-        Set<InfernoNPC.Attack> attacks = new HashSet<>();
-        for (InfernoNPC npc : infernoNpcs)
-        {
-            int ticks = npcPrediction.getTicksUntilNextAttack(npc.getNpc());
-            if (ticks == 0 && canNpcAttackTile(npc, client, playerLoc))
-            {
-                InfernoNPC.Attack attack = npcPrediction.getNextAttack(npc.getNpc());
-                if (attack != null && attack != InfernoNPC.Attack.UNKNOWN)
-                {
-                    attacks.add(attack);
-                }
-            }
-        }
-        return attacks;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package net.runelite.client.plugins.inferno;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.PanelComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+@Singleton
+public class InfernoPredictionOverlay extends Overlay
+{
+	private static final InfernoPredictionScoreboard.Engine CYCLE = InfernoPredictionScoreboard.Engine.CYCLE;
+	private static final InfernoPredictionScoreboard.Engine ANIMATION = InfernoPredictionScoreboard.Engine.ANIMATION;
+
+	private final InfernoPredictionScoreboard scoreboard;
+	private final PanelComponent panelComponent = new PanelComponent();
+
+	@Inject
+	private InfernoPredictionOverlay(final InfernoPredictionScoreboard scoreboard)
+	{
+		this.scoreboard = scoreboard;
+		setPosition(OverlayPosition.TOP_LEFT);
+		panelComponent.setPreferredSize(new Dimension(240, 0));
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		panelComponent.getChildren().clear();
+
+		panelComponent.getChildren().add(TitleComponent.builder()
+			.text("Prediction hit rate / error")
+			.color(Color.ORANGE)
+			.build());
+
+		panelComponent.getChildren().add(LineComponent.builder()
+			.left("")
+			.right(CYCLE + " | " + ANIMATION)
+			.build());
+
+		for (InfernoNPC.Type type : InfernoNPC.Type.values())
+		{
+			if (scoreboard.getAttacks(type, CYCLE) == 0)
+			{
+				continue;
+			}
+
+			final double cycleHitRate = scoreboard.getHitRate(type, CYCLE);
+			final double animationHitRate = scoreboard.getHitRate(type, ANIMATION);
+
+			panelComponent.getChildren().add(LineComponent.builder()
+				.left(type.name().charAt(0) + type.name().substring(1).toLowerCase().replace('_', ' '))
+				.right(String.format("%.0f%% %.1f | %.0f%% %.1f",
+					cycleHitRate * 100, scoreboard.getMeanError(type, CYCLE),
+					animationHitRate * 100, scoreboard.getMeanError(type, ANIMATION)))
+				.rightColor(cycleHitRate > animationHitRate ? Color.CYAN : animationHitRate > cycleHitRate ? Color.GREEN : Color.WHITE)
+				.build());
+		}
+
+		panelComponent.getChildren().add(LineComponent.builder()
+			.left("Cost / tick")
+			.right(InfernoDebugOverlay.formatMillis(scoreboard.getMeanCostNanos(CYCLE)) + " | "
+				+ InfernoDebugOverlay.formatMillis(scoreboard.getMeanCostNanos(ANIMATION)))
+			.build());
+
+		return panelComponent.render(graphics);
+	}
+}
@@ -0,0 +1,219 @@
+package net.runelite.client.plugins.inferno;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Scores the attack tick predictions of {@link InfernoNpcPrediction} (fixed attack cycles) and
+ * {@link InfernoNPC#gameTick} (animation driven) against the tick the NPC's attack animation is actually seen.
+ * The prediction compared is the one made on the tick before the animation, as both engines reset on the animation
+ * itself.
+ *
+ * <p>Predictions are only scored live. Both engines work on client NPCs and the scene's collision data, which
+ * recordings don't hold, so {@link InfernoReplay} can't score them yet.
+ */
+@Singleton
+class InfernoPredictionScoreboard
+{
+	enum Engine
+	{
+		CYCLE("Cycle"),
+		ANIMATION("Animation");
+
+		private final String name;
+
+		Engine(String name)
+		{
+			this.name = name;
+		}
+
+		@Override
+		public String toString()
+		{
+			return name;
+		}
+	}
+
+	private static final Engine[] ENGINES = Engine.values();
+	private static final int TYPES = InfernoNPC.Type.values().length;
+
+	private static final int[] ATTACK_ANIMATIONS;
+
+	static
+	{
+		int[] animations = {InfernoPlugin.TZKAL_ZUK};
+
+		for (InfernoNPC.Attack attack : InfernoNPC.Attack.values())
+		{
+			final int[] attackAnimations = attack.getAnimationIds();
+			final int length = animations.length;
+			animations = Arrays.copyOf(animations, length + attackAnimations.length);
+			System.arraycopy(attackAnimations, 0, animations, length, attackAnimations.length);
+		}
+
+		Arrays.sort(animations);
+		ATTACK_ANIMATIONS = animations;
+	}
+
+	private final InfernoAnimationStore animationStore;
+	private final Map<InfernoNPC, Tracked> tracked = new HashMap<>();
+
+	// Indexed by [type][engine]
+	private final long[][] samples = new long[TYPES][ENGINES.length];
+	private final long[][] hits = new long[TYPES][ENGINES.length];
+	private final long[][] unpredicted = new long[TYPES][ENGINES.length];
+	private final long[][] absoluteError = new long[TYPES][ENGINES.length];
+
+	private final long[] costNanos = new long[ENGINES.length];
+	private long costTicks;
+
+	private int tick;
+
+	@Inject
+	InfernoPredictionScoreboard(final InfernoAnimationStore animationStore)
+	{
+		this.animationStore = animationStore;
+	}
+
+	/**
+	 * Scores the attacks seen this tick, must be called before either engine has processed the tick.
+	 */
+	void observe(List<InfernoNPC> infernoNpcs)
+	{
+		tick++;
+
+		for (InfernoNPC infernoNPC : infernoNpcs)
+		{
+			final Tracked npc = tracked.computeIfAbsent(infernoNPC, n -> new Tracked());
+			final int animation = animationStore.getAnimation(infernoNPC.getNpc());
+
+			if (animation != npc.lastAnimation && Arrays.binarySearch(ATTACK_ANIMATIONS, animation) >= 0)
+			{
+				score(infernoNPC.getType(), npc);
+			}
+
+			npc.lastAnimation = animation;
+			npc.seenTick = tick;
+		}
+
+		for (Iterator<Tracked> it = tracked.values().iterator(); it.hasNext(); )
+		{
+			if (it.next().seenTick != tick)
+			{
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Stores the predictions of both engines, must be called after both have processed the tick.
+	 */
+	void capture(List<InfernoNPC> infernoNpcs, InfernoNpcPrediction npcPrediction)
+	{
+		for (InfernoNPC infernoNPC : infernoNpcs)
+		{
+			final Tracked npc = tracked.get(infernoNPC);
+
+			if (npc == null)
+			{
+				continue;
+			}
+
+			final int cycleTicks = npcPrediction.getTicksUntilNextAttack(infernoNPC.getNpc());
+			final int animationTicks = infernoNPC.getTicksTillNextAttack();
+
+			npc.predictedTick[Engine.CYCLE.ordinal()] = cycleTicks > 0 ? tick + cycleTicks : -1;
+			npc.predictedTick[Engine.ANIMATION.ordinal()] = animationTicks > 0 ? tick + animationTicks : -1;
+		}
+
+		costTicks++;
+	}
+
+	void addCost(Engine engine, long nanos)
+	{
+		costNanos[engine.ordinal()] += nanos;
+	}
+
+	private void score(InfernoNPC.Type type, Tracked npc)
+	{
+		for (Engine engine : ENGINES)
+		{
+			final int predictedTick = npc.predictedTick[engine.ordinal()];
+
+			if (predictedTick < 0)
+			{
+				unpredicted[type.ordinal()][engine.ordinal()]++;
+				continue;
+			}
+
+			final int error = Math.abs(tick - predictedTick);
+			samples[type.ordinal()][engine.ordinal()]++;
+			absoluteError[type.ordinal()][engine.ordinal()] += error;
+
+			if (error == 0)
+			{
+				hits[type.ordinal()][engine.ordinal()]++;
+			}
+		}
+	}
+
+	/**
+	 * @return the amount of attacks seen, whether predicted or not
+	 */
+	long getAttacks(InfernoNPC.Type type, Engine engine)
+	{
+		return samples[type.ordinal()][engine.ordinal()] + unpredicted[type.ordinal()][engine.ordinal()];
+	}
+
+	/**
+	 * @return the share of the attacks seen which were predicted on the exact tick
+	 */
+	double getHitRate(InfernoNPC.Type type, Engine engine)
+	{
+		final long attacks = getAttacks(type, engine);
+		return attacks == 0 ? 0 : (double) hits[type.ordinal()][engine.ordinal()] / attacks;
+	}
+
+	/**
+	 * @return the mean distance in ticks between the predicted and seen attack, over the predicted attacks
+	 */
+	double getMeanError(InfernoNPC.Type type, Engine engine)
+	{
+		final long predicted = samples[type.ordinal()][engine.ordinal()];
+		return predicted == 0 ? 0 : (double) absoluteError[type.ordinal()][engine.ordinal()] / predicted;
+	}
+
+	long getMeanCostNanos(Engine engine)
+	{
+		return costTicks == 0 ? 0 : costNanos[engine.ordinal()] / costTicks;
+	}
+
+	void reset()
+	{
+		tracked.clear();
+
+		for (int i = 0; i < TYPES; i++)
+		{
+			Arrays.fill(samples[i], 0);
+			Arrays.fill(hits[i], 0);
+			Arrays.fill(unpredicted[i], 0);
+			Arrays.fill(absoluteError[i], 0);
+		}
+
+		Arrays.fill(costNanos, 0);
+		costTicks = 0;
+		tick = 0;
+	}
+
+	private static final class Tracked
+	{
+		private final int[] predictedTick = {-1, -1};
+		private int lastAnimation = -1;
+		private int seenTick;
+	}
+}
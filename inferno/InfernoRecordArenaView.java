@@ -0,0 +1,57 @@
+package net.runelite.client.plugins.inferno;
+
+/**
+ * {@link InfernoArenaView} over a recorded tick, reused for every tick of a replay.
+ */
+class InfernoRecordArenaView implements InfernoArenaView
+{
+	private InfernoTickRecord record;
+
+	InfernoRecordArenaView update(InfernoTickRecord record)
+	{
+		this.record = record;
+		return this;
+	}
+
+	@Override
+	public int getPlayerX()
+	{
+		return record.getPlayerX();
+	}
+
+	@Override
+	public int getPlayerY()
+	{
+		return record.getPlayerY();
+	}
+
+	@Override
+	public int getNpcCount()
+	{
+		return record.getNpcCount();
+	}
+
+	@Override
+	public int getNpcId(int npc)
+	{
+		return record.getNpcId(npc);
+	}
+
+	@Override
+	public int getNpcX(int npc)
+	{
+		return record.getNpcX(npc);
+	}
+
+	@Override
+	public int getNpcY(int npc)
+	{
+		return record.getNpcY(npc);
+	}
+
+	@Override
+	public int getNpcSize(int npc)
+	{
+		return InfernoEngineCore.getNpcSize(record.getNpcId(npc));
+	}
+}
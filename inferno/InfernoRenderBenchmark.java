@@ -0,0 +1,88 @@
+package net.runelite.client.plugins.inferno;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.client.ui.overlay.Overlay;
+
+/**
+ * On demand benchmark of the Inferno overlays. Every overlay is drawn repeatedly into an offscreen image the size
+ * of the game canvas, using the live camera, so overlay cost can be compared across releases and display modes.
+ * Results are written to the client log as frame time and bytes allocated per frame.
+ */
+@Slf4j
+@Singleton
+class InfernoRenderBenchmark
+{
+	private final Client client;
+	private final InfernoConfig config;
+	private final InfernoLodController lodController;
+	private final InfernoOverlay infernoOverlay;
+	private final InfernoWaveOverlay waveOverlay;
+	private final InfernoInfoBoxOverlay infoBoxOverlay;
+	private final InfernoOverlayAdvanced advancedOverlay;
+
+	@Inject
+	InfernoRenderBenchmark(final Client client, final InfernoConfig config, final InfernoLodController lodController,
+		final InfernoOverlay infernoOverlay, final InfernoWaveOverlay waveOverlay,
+		final InfernoInfoBoxOverlay infoBoxOverlay, final InfernoOverlayAdvanced advancedOverlay)
+	{
+		this.client = client;
+		this.config = config;
+		this.lodController = lodController;
+		this.infernoOverlay = infernoOverlay;
+		this.waveOverlay = waveOverlay;
+		this.infoBoxOverlay = infoBoxOverlay;
+		this.advancedOverlay = advancedOverlay;
+	}
+
+	/**
+	 * Must be called on the client thread, after the plugin has calculated the state of the tick.
+	 */
+	void run(InfernoPlugin plugin)
+	{
+		final BufferedImage image = new BufferedImage(
+			Math.max(client.getCanvasWidth(), 1), Math.max(client.getCanvasHeight(), 1), BufferedImage.TYPE_INT_ARGB);
+
+		log.info("Inferno render benchmark: wave {}, safespots {}, prayer {}, {}x{}",
+			plugin.getCurrentWaveNumber(), config.safespotDisplayMode(), config.prayerDisplayMode(),
+			image.getWidth(), image.getHeight());
+
+		advancedOverlay.setGameState(true, plugin.isFlickPossible(), client.getLocalPlayer().getWorldLocation(),
+			plugin.getInfernoNpcs(), plugin.getSafeSpotMap());
+
+		// The detail level must not change halfway through the benchmark
+		lodController.setPaused(true);
+
+		try
+		{
+			measure(image, "InfernoOverlay", infernoOverlay);
+			measure(image, "InfernoWaveOverlay", waveOverlay);
+			measure(image, "InfernoInfoBoxOverlay", infoBoxOverlay);
+			measure(image, "InfernoOverlayAdvanced", advancedOverlay);
+		}
+		finally
+		{
+			lodController.setPaused(false);
+		}
+	}
+
+	private static void measure(BufferedImage image, String name, Overlay overlay)
+	{
+		final Graphics2D graphics = image.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+		try
+		{
+			InfernoEngineBenchmark.measure("render benchmark", name, () -> overlay.render(graphics));
+		}
+		finally
+		{
+			graphics.dispose();
+		}
+	}
+}
@@ -0,0 +1,245 @@
+package net.runelite.client.plugins.inferno;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import net.runelite.api.Prayer;
+
+/**
+ * Replays a recording of {@link InfernoTickRecorder}, or a dump of {@link InfernoBlackBox}, outside of the client.
+ * Every tick is decoded with {@link InfernoTickRecording} and run through {@link InfernoEngineCore}, and the time the
+ * engine took is reported by the amount of NPCs on the tick. Ticks of a black box dump are printed as well, with what
+ * the plugin recommended on them and the NPCs it saw.
+ *
+ * <p>Run with the plugin and the RuneLite client on the class path:
+ * {@code java net.runelite.client.plugins.inferno.InfernoReplay <recording> [first wave]}. Runs of
+ * {@link InfernoWaveGenerator} are replayed with {@code --run <seed> [first wave] [last wave]} and
+ * {@code --stress <seed> <nibblers> [ticks]}, so the engine can be measured on the same synthetic ticks every time.
+ */
+final class InfernoReplay
+{
+	// Ticks with more NPCs than this are counted with this many
+	private static final int MAX_NPC_COUNT = 64;
+	private static final int STRESS_TICKS = 1000;
+
+	private static final String USAGE = "Usage: InfernoReplay <recording> [first wave]\n"
+		+ "       InfernoReplay --run <seed> [first wave] [last wave]\n"
+		+ "       InfernoReplay --stress <seed> <nibblers> [ticks]";
+
+	private static final InfernoNPC.Attack[] ATTACKS = InfernoNPC.Attack.values();
+	private static final InfernoTickProfiler.Stage[] STAGES = InfernoTickProfiler.Stage.values();
+
+	private final PrintStream out;
+	private final InfernoRecordArenaView arena = new InfernoRecordArenaView();
+	private final StringBuilder line = new StringBuilder();
+
+	private final long[] engineNanos = new long[MAX_NPC_COUNT + 1];
+	private final int[] engineTicks = new int[MAX_NPC_COUNT + 1];
+	private long decodeNanos;
+	private int ticks;
+	private int centralNibblerTicks;
+	private int recordedTicks;
+	private int inactiveRecommendations;
+
+	InfernoReplay(PrintStream out)
+	{
+		this.out = out;
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 1 || args.length > 4)
+		{
+			System.err.println(USAGE);
+			System.exit(2);
+		}
+
+		final boolean synthetic = args[0].startsWith("--");
+		final File file = synthetic ? generate(args) : new File(args[0]);
+		final InfernoReplay replay = new InfernoReplay(System.out);
+
+		try (InfernoTickRecording recording = new InfernoTickRecording(file))
+		{
+			if (!synthetic && args.length == 2 && !recording.seekWave(Integer.parseInt(args[1])))
+			{
+				System.err.println("The recording has no wave " + args[1] + ", it has " + Arrays.toString(recording.getWaves()));
+				System.exit(1);
+			}
+
+			replay.replay(recording);
+		}
+
+		replay.printSummary();
+	}
+
+	/**
+	 * Writes the synthetic run described by the arguments to a temporary recording.
+	 */
+	private static File generate(String[] args) throws IOException
+	{
+		if (args.length < 2)
+		{
+			System.err.println(USAGE);
+			System.exit(2);
+		}
+
+		final File file = File.createTempFile("inferno-synthetic", ".rec");
+		file.deleteOnExit();
+
+		final InfernoWaveGenerator generator = new InfernoWaveGenerator(Long.parseLong(args[1]));
+
+		try (InfernoTickWriter writer = new InfernoTickWriter(file))
+		{
+			switch (args[0])
+			{
+				case "--run":
+					generator.generateRun(writer,
+						args.length > 2 ? Integer.parseInt(args[2]) : 1,
+						args.length > 3 ? Integer.parseInt(args[3]) : 69);
+					break;
+				case "--stress":
+					if (args.length < 3)
+					{
+						System.err.println(USAGE);
+						System.exit(2);
+					}
+
+					generator.generateStress(writer, Integer.parseInt(args[2]),
+						args.length > 3 ? Integer.parseInt(args[3]) : STRESS_TICKS);
+					break;
+				default:
+					System.err.println(USAGE);
+					System.exit(2);
+			}
+		}
+
+		return file;
+	}
+
+	/**
+	 * Runs every remaining tick of the recording through the engine.
+	 */
+	void replay(InfernoTickRecording recording) throws IOException
+	{
+		long start = System.nanoTime();
+		InfernoTickRecord record;
+
+		while ((record = recording.next()) != null)
+		{
+			final long decoded = System.nanoTime();
+			decodeNanos += decoded - start;
+
+			final int centralNibbler = InfernoEngineCore.findCentralNibbler(arena.update(record));
+			final int npcCount = Math.min(record.getNpcCount(), MAX_NPC_COUNT);
+			engineNanos[npcCount] += System.nanoTime() - decoded;
+			engineTicks[npcCount]++;
+			ticks++;
+
+			if (centralNibbler != -1)
+			{
+				centralNibblerTicks++;
+			}
+
+			if (record.isEngineRecorded())
+			{
+				printTick(record, centralNibbler);
+			}
+
+			start = System.nanoTime();
+		}
+	}
+
+	void printSummary()
+	{
+		if (ticks == 0)
+		{
+			out.println("The recording holds no ticks");
+			return;
+		}
+
+		out.println(ticks + " ticks, decoding took " + decodeNanos / ticks + " ns/tick, central nibbler on "
+			+ centralNibblerTicks + " ticks");
+
+		for (int npcCount = 0; npcCount <= MAX_NPC_COUNT; npcCount++)
+		{
+			if (engineTicks[npcCount] > 0)
+			{
+				out.println("  " + npcCount + " npcs: " + engineTicks[npcCount] + " ticks, engine took "
+					+ engineNanos[npcCount] / engineTicks[npcCount] + " ns/tick");
+			}
+		}
+
+		if (recordedTicks > 0)
+		{
+			out.println("The recommended prayer wasn't active on " + inactiveRecommendations + " of " + recordedTicks
+				+ " recorded ticks");
+		}
+	}
+
+	private void printTick(InfernoTickRecord record, int centralNibbler)
+	{
+		recordedTicks++;
+
+		line.setLength(0);
+		line.append("tick ").append(record.getTick())
+			.append(" wave ").append(record.getWave())
+			.append(" player ").append(record.getPlayerX()).append(',').append(record.getPlayerY());
+
+		final Prayer recommendedPrayer = record.getRecommendedPrayer();
+		line.append(" recommended ").append(recommendedPrayer);
+
+		if (recommendedPrayer != null && !record.isPrayerActive(recommendedPrayer))
+		{
+			inactiveRecommendations++;
+			line.append(" (inactive)");
+		}
+
+		line.append(" closest ").append(record.getClosestAttack()).append(" upcoming");
+
+		for (int t = 1; t <= record.getTimelineLength(); t++)
+		{
+			for (InfernoNPC.Attack attack : ATTACKS)
+			{
+				if (record.isUpcoming(t, attack))
+				{
+					line.append(' ').append(t).append(':').append(attack);
+				}
+			}
+		}
+
+		InfernoTickProfiler.Stage slowest = STAGES[0];
+
+		for (InfernoTickProfiler.Stage stage : STAGES)
+		{
+			// Neither is a stage of its own
+			if (stage != InfernoTickProfiler.Stage.PRAYER_PUBLISHED && stage != InfernoTickProfiler.Stage.TOTAL
+				&& record.getStageNanos(stage) > record.getStageNanos(slowest))
+			{
+				slowest = stage;
+			}
+		}
+
+		line.append(" took ").append(InfernoDebugOverlay.formatMillis(record.getStageNanos(InfernoTickProfiler.Stage.TOTAL)))
+			.append(", slowest ").append(slowest).append(' ')
+			.append(InfernoDebugOverlay.formatMillis(record.getStageNanos(slowest)));
+		out.println(line);
+
+		for (int i = 0; i < record.getNpcCount(); i++)
+		{
+			line.setLength(0);
+			line.append("  #").append(record.getNpcIndex(i))
+				.append(" id ").append(record.getNpcId(i))
+				.append(" at ").append(record.getNpcX(i)).append(',').append(record.getNpcY(i))
+				.append(" animation ").append(record.getNpcAnimation(i))
+				.append(" health ").append(record.getNpcHealthRatio(i)).append('/').append(record.getNpcHealthScale(i));
+
+			if (i == centralNibbler)
+			{
+				line.append(" central nibbler");
+			}
+
+			out.println(line);
+		}
+	}
+}
@@ -26,7 +26,6 @@ package net.runelite.client.plugins.inferno;
 
 import java.awt.Color;
 import java.awt.image.BufferedImage;
-import java.time.Instant;
 import lombok.AccessLevel;
 import lombok.Getter;
 import net.runelite.client.ui.overlay.infobox.InfoBox;
@@ -34,35 +33,41 @@ import net.runelite.client.ui.overlay.infobox.InfoBoxPriority;
 
 class InfernoSpawnTimerInfobox extends InfoBox
 {
-	private static final long SPAWN_DURATION = 210; // 3 minutes 30 seconds
-	private static final long SPAWN_DURATION_INCREMENT = 105; // 1 minute 45 seconds
-	private static final long SPAWN_DURATION_WARNING = 120; // 2 minutes before next respawn
-	private static final long SPAWN_DURATION_DANGER = 30; // 30 seconds before next respawn
+	// All durations are in game ticks of 0.6 seconds
+	private static final int SPAWN_DURATION = 350; // 3 minutes 30 seconds
+	private static final int SPAWN_DURATION_INCREMENT = 175; // 1 minute 45 seconds
+	private static final int SPAWN_DURATION_WARNING = 200; // 2 minutes before next respawn
+	private static final int SPAWN_DURATION_DANGER = 50; // 30 seconds before next respawn
 
-	private long timeRemaining;
-	private long startTime;
+	private int ticksRemaining;
 
 	@Getter(AccessLevel.PACKAGE)
 	private boolean running;
 
+	// Text and color are only recomputed when the displayed second changes
+	private int displayedSeconds = -1;
+	private String text;
+	private Color textColor;
+
 	InfernoSpawnTimerInfobox(final BufferedImage image, final InfernoPlugin plugin)
 	{
 		super(image, plugin);
 		setPriority(InfoBoxPriority.HIGH);
 		running = false;
-		timeRemaining = SPAWN_DURATION;
+		ticksRemaining = SPAWN_DURATION;
+		updateDisplay();
 	}
 
 	void run()
 	{
-		startTime = Instant.now().getEpochSecond();
 		running = true;
 	}
 
 	void reset()
 	{
 		running = false;
-		timeRemaining = SPAWN_DURATION;
+		ticksRemaining = SPAWN_DURATION;
+		updateDisplay();
 	}
 
 	void pause()
@@ -73,37 +78,48 @@ class InfernoSpawnTimerInfobox extends InfoBox
 		}
 
 		running = false;
+		ticksRemaining += SPAWN_DURATION_INCREMENT;
+		updateDisplay();
+	}
+
+	void onGameTick()
+	{
+		if (!running || ticksRemaining <= 0)
+		{
+			return;
+		}
+
+		ticksRemaining--;
+		updateDisplay();
+	}
 
-		long timeElapsed = Instant.now().getEpochSecond() - startTime;
+	private void updateDisplay()
+	{
+		// A game tick is 0.6 seconds, round up so the timer only reads 00:00 once it has run out
+		final int seconds = (ticksRemaining * 3 + 4) / 5;
 
-		timeRemaining = Math.max(0, timeRemaining - timeElapsed);
+		if (seconds == displayedSeconds)
+		{
+			return;
+		}
 
-		timeRemaining += SPAWN_DURATION_INCREMENT;
+		displayedSeconds = seconds;
+		text = String.format("%02d:%02d", seconds % 3600 / 60, seconds % 60);
+		textColor = ticksRemaining <= SPAWN_DURATION_DANGER ?
+			Color.RED : ticksRemaining <= SPAWN_DURATION_WARNING ?
+			Color.ORANGE : Color.GREEN;
 	}
 
 	@Override
 	public String getText()
 	{
-		final long seconds = running
-			? Math.max(0, timeRemaining - (Instant.now().getEpochSecond() - startTime))
-			: timeRemaining;
-
-		final long minutes = seconds % 3600 / 60;
-		final long secs = seconds % 60;
-
-		return String.format("%02d:%02d", minutes, secs);
+		return text;
 	}
 
 	@Override
 	public Color getTextColor()
 	{
-		final long seconds = running
-			? Math.max(0, timeRemaining - (Instant.now().getEpochSecond() - startTime))
-			: timeRemaining;
-
-		return seconds <= SPAWN_DURATION_DANGER ?
-			Color.RED : seconds <= SPAWN_DURATION_WARNING ?
-			Color.ORANGE : Color.GREEN;
+		return textColor;
 	}
 
 	@Override
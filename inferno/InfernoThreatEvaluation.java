@@ -0,0 +1,122 @@
+package net.runelite.client.plugins.inferno;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import javax.inject.Singleton;
+
+/**
+ * What the NPCs threaten this tick, filled in by the single pass {@link InfernoPlugin} makes over the NPCs every
+ * tick: the attacks landing on the player's tile this tick, the closest attack of the upcoming timeline and whether a
+ * blob is alive. The prayer recommendation, the flick indicator and the overlays all read from it instead of walking
+ * the NPCs again.
+ */
+@Singleton
+class InfernoThreatEvaluation
+{
+	private static final InfernoNPC.Attack[] ATTACKS = InfernoNPC.Attack.values();
+
+	private final int[] incomingCounts = new int[ATTACKS.length];
+	private int incomingMask;
+	private InfernoNPC.Attack firstIncoming;
+	private boolean blobAlive;
+
+	private InfernoNPC.Attack closestAttack;
+	private int closestTick;
+	private int closestPriority;
+
+	void reset()
+	{
+		Arrays.fill(incomingCounts, 0);
+		incomingMask = 0;
+		firstIncoming = null;
+		blobAlive = false;
+		closestAttack = null;
+		closestTick = Integer.MAX_VALUE;
+		closestPriority = Integer.MAX_VALUE;
+	}
+
+	/**
+	 * An attack of a known style lands on the player's tile this tick.
+	 */
+	void addIncoming(InfernoNPC.Attack attack)
+	{
+		if (incomingMask == 0)
+		{
+			firstIncoming = attack;
+		}
+
+		incomingCounts[attack.ordinal()]++;
+		incomingMask |= 1 << attack.ordinal();
+	}
+
+	void setBlobAlive()
+	{
+		blobAlive = true;
+	}
+
+	/**
+	 * An attack was put on the upcoming timeline, the lowest tick and then the lowest priority is the closest.
+	 */
+	void addUpcoming(int tick, InfernoNPC.Attack attack, int priority)
+	{
+		if (tick < closestTick || (tick == closestTick && priority < closestPriority))
+		{
+			closestAttack = attack;
+			closestTick = tick;
+			closestPriority = priority;
+		}
+	}
+
+	boolean hasIncoming()
+	{
+		return incomingMask != 0;
+	}
+
+	int getIncomingCount(InfernoNPC.Attack attack)
+	{
+		return incomingCounts[attack.ordinal()];
+	}
+
+	/**
+	 * @return the incoming attack of the first NPC in the NPC list which attacks this tick
+	 */
+	InfernoNPC.Attack getFirstIncoming()
+	{
+		return firstIncoming;
+	}
+
+	/**
+	 * Allocates, only meant for debug output.
+	 */
+	Set<InfernoNPC.Attack> getIncomingAttacks()
+	{
+		final Set<InfernoNPC.Attack> attacks = EnumSet.noneOf(InfernoNPC.Attack.class);
+
+		for (InfernoNPC.Attack attack : ATTACKS)
+		{
+			if ((incomingMask & 1 << attack.ordinal()) != 0)
+			{
+				attacks.add(attack);
+			}
+		}
+
+		return attacks;
+	}
+
+	/**
+	 * A flick is possible when a single attack style lands this tick and no blob can change that unseen.
+	 */
+	boolean isFlickPossible()
+	{
+		return Integer.bitCount(incomingMask) == 1 && !blobAlive;
+	}
+
+	/**
+	 * @return the closest attack of the upcoming timeline, or null if nothing is upcoming
+	 */
+	InfernoNPC.Attack getClosestAttack()
+	{
+		return closestAttack;
+	}
+}
@@ -0,0 +1,527 @@
+package net.runelite.client.plugins.inferno;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Low overhead timings of the stages of {@link InfernoPlugin}'s game tick. Every stage records its nanoTime delta
+ * into a preallocated log-linear histogram, one set per reporting window and one set per wave, so recording never
+ * allocates. The last finished window is kept for the debug overlay.
+ *
+ * <p>With an allocation budget configured, the bytes allocated by the client thread are measured per stage and per
+ * frame of the Inferno overlay as well, and a warning is logged once per window when one of them is over budget.
+ */
+@Slf4j
+@Singleton
+class InfernoTickProfiler
+{
+	// Ticks per reporting window, one minute
+	private static final int WINDOW_TICKS = 100;
+
+	enum Stage
+	{
+		NPC_PREDICTION("Npc prediction"),
+		RECOMMEND_PRAYER("Recommend prayer"),
+		UPCOMING_ATTACKS("Upcoming attacks"),
+		CLOSEST_ATTACK("Closest attack"),
+		SAFESPOTS("Safespots"),
+		SAFESPOT_AREAS("Safespot areas"),
+		OBSTACLES("Obstacles"),
+		CENTRAL_NIBBLER("Central nibbler"),
+		BLOB_DEATH_LOCATIONS("Blob deaths"),
+		// From the start of the tick to the prayer recommendation being published, not a stage of its own
+		PRAYER_PUBLISHED("Prayer published"),
+		TOTAL("Total");
+
+		private final String name;
+
+		Stage(String name)
+		{
+			this.name = name;
+		}
+
+		@Override
+		public String toString()
+		{
+			return name;
+		}
+	}
+
+	enum Counter
+	{
+		SAFESPOT_CACHE_HIT,
+		SAFESPOT_CACHE_MISS,
+		SAFESPOT_CACHE_EVICTION,
+		SAFESPOT_CACHE_INVALIDATION,
+		LOS_CHECK
+	}
+
+	private static final Stage[] STAGES = Stage.values();
+	private static final Counter[] COUNTERS = Counter.values();
+
+	// Null if the JVM can't measure the allocations of a thread
+	private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN;
+
+	static
+	{
+		final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		THREAD_MX_BEAN = threadMXBean instanceof com.sun.management.ThreadMXBean
+			&& ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()
+			? (com.sun.management.ThreadMXBean) threadMXBean : null;
+	}
+
+	private final InfernoConfig config;
+
+	private final Histogram[] windowHistograms = new Histogram[STAGES.length];
+	private final Histogram[] waveHistograms = new Histogram[STAGES.length];
+	private final long[] windowCounters = new long[COUNTERS.length];
+
+	// Snapshot of the last finished window, read by the debug overlay
+	private final long[] lastWindowP50 = new long[STAGES.length];
+	private final long[] lastWindowP99 = new long[STAGES.length];
+	private final long[] lastWindowMax = new long[STAGES.length];
+	private final long[] lastWindowCounters = new long[COUNTERS.length];
+
+	// Nanos taken by every stage of the current tick
+	private final long[] tickNanos = new long[STAGES.length];
+
+	// Bytes allocated by every stage of the current tick, and the most allocated by a stage or frame in a window
+	private final long[] tickAllocated = new long[STAGES.length];
+	private final long[] windowMaxAllocated = new long[STAGES.length];
+	private final long[] lastWindowMaxAllocated = new long[STAGES.length];
+	private long windowMaxRenderAllocated;
+	private long lastWindowMaxRenderAllocated;
+
+	private boolean trackAllocations;
+	private long allocationBudget;
+	private long tickAllocationStart;
+	private long stageAllocationStart;
+	private boolean overBudgetLogged;
+
+	// Context of the tick for the flight recorder events, only filled in while they are enabled
+	private boolean flightRecorderEnabled;
+	private int tickWave;
+	private int tickNpcCount;
+	private int tickCheckSize;
+
+	private long tickStart;
+	private long suspendStart;
+	private long suspendAllocationStart;
+	private int windowTicks;
+	private int wave = -1;
+
+	@Inject
+	InfernoTickProfiler(final InfernoConfig config)
+	{
+		this.config = config;
+
+		for (int i = 0; i < STAGES.length; i++)
+		{
+			windowHistograms[i] = new Histogram();
+			waveHistograms[i] = new Histogram();
+		}
+	}
+
+	/**
+	 * @return the start time of the tick, to be passed to the first {@link #record(Stage, long)}
+	 */
+	long startTick(int wave, int npcCount)
+	{
+		flightRecorderEnabled = InfernoFlightRecorder.isTickStageEnabled();
+
+		if (flightRecorderEnabled)
+		{
+			tickWave = wave;
+			tickNpcCount = npcCount;
+			tickCheckSize = config.safespotsCheckSize();
+		}
+
+		allocationBudget = config.allocationBudget() * 1024L;
+		trackAllocations = allocationBudget > 0 && THREAD_MX_BEAN != null;
+
+		if (trackAllocations)
+		{
+			tickAllocationStart = getAllocatedBytes();
+			stageAllocationStart = tickAllocationStart;
+		}
+
+		Arrays.fill(tickNanos, 0);
+		tickStart = System.nanoTime();
+		return tickStart;
+	}
+
+	/**
+	 * Records the time since the start of the tick as {@link Stage#PRAYER_PUBLISHED}.
+	 */
+	void recordPrayerPublished()
+	{
+		final long latency = System.nanoTime() - tickStart;
+		tickNanos[Stage.PRAYER_PUBLISHED.ordinal()] = latency;
+		windowHistograms[Stage.PRAYER_PUBLISHED.ordinal()].record(latency);
+		waveHistograms[Stage.PRAYER_PUBLISHED.ordinal()].record(latency);
+	}
+
+	/**
+	 * Suspends the tick until {@link #resumeTick()}, the time and allocations in between aren't part of the tick.
+	 */
+	void suspendTick()
+	{
+		suspendStart = System.nanoTime();
+
+		if (trackAllocations)
+		{
+			suspendAllocationStart = getAllocatedBytes();
+		}
+	}
+
+	/**
+	 * @return the start of the next stage
+	 */
+	long resumeTick()
+	{
+		final long now = System.nanoTime();
+		tickStart += now - suspendStart;
+
+		if (trackAllocations)
+		{
+			final long allocated = getAllocatedBytes();
+			tickAllocationStart += allocated - suspendAllocationStart;
+			stageAllocationStart = allocated;
+		}
+
+		return now;
+	}
+
+	/**
+	 * Excludes the work done since the last stage, such as a benchmark, from the next stage.
+	 *
+	 * @return the start of the next stage
+	 */
+	long restartStage()
+	{
+		if (trackAllocations)
+		{
+			stageAllocationStart = getAllocatedBytes();
+		}
+
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records the time since {@code stageStart} for the given stage.
+	 *
+	 * @return the current time, which is the start of the next stage
+	 */
+	long record(Stage stage, long stageStart)
+	{
+		final long now = System.nanoTime();
+		tickNanos[stage.ordinal()] = now - stageStart;
+		windowHistograms[stage.ordinal()].record(now - stageStart);
+		waveHistograms[stage.ordinal()].record(now - stageStart);
+
+		if (flightRecorderEnabled)
+		{
+			InfernoFlightRecorder.tickStage(stage, now - stageStart, tickWave, tickNpcCount, tickCheckSize);
+		}
+
+		if (trackAllocations)
+		{
+			final long allocated = getAllocatedBytes();
+			tickAllocated[stage.ordinal()] = allocated - (stage == Stage.TOTAL ? tickAllocationStart : stageAllocationStart);
+			stageAllocationStart = allocated;
+		}
+
+		return now;
+	}
+
+	/**
+	 * @return the start of a frame of the Inferno overlay, to be passed to {@link #endRender(long)}
+	 */
+	long startRender()
+	{
+		return trackAllocations ? getAllocatedBytes() : -1;
+	}
+
+	void endRender(long allocationStart)
+	{
+		if (allocationStart < 0 || !trackAllocations)
+		{
+			return;
+		}
+
+		final long allocated = getAllocatedBytes() - allocationStart;
+		windowMaxRenderAllocated = Math.max(windowMaxRenderAllocated, allocated);
+
+		if (allocated > allocationBudget && !overBudgetLogged)
+		{
+			log.warn("Inferno overlay allocated {} bytes in a frame, the budget is {} bytes", allocated, allocationBudget);
+			overBudgetLogged = true;
+		}
+	}
+
+	void increment(Counter counter)
+	{
+		windowCounters[counter.ordinal()]++;
+	}
+
+	void endTick(int currentWave)
+	{
+		record(Stage.TOTAL, tickStart);
+
+		if (trackAllocations)
+		{
+			checkAllocations(currentWave);
+		}
+
+		if (currentWave != wave)
+		{
+			if (wave != -1 && config.logTickTimings())
+			{
+				log.info(summary("wave " + wave, waveHistograms, null));
+			}
+
+			for (Histogram histogram : waveHistograms)
+			{
+				histogram.reset();
+			}
+
+			wave = currentWave;
+		}
+
+		if (++windowTicks < WINDOW_TICKS)
+		{
+			return;
+		}
+
+		for (int i = 0; i < STAGES.length; i++)
+		{
+			lastWindowP50[i] = windowHistograms[i].percentile(0.5);
+			lastWindowP99[i] = windowHistograms[i].percentile(0.99);
+			lastWindowMax[i] = windowHistograms[i].getMax();
+		}
+
+		System.arraycopy(windowCounters, 0, lastWindowCounters, 0, COUNTERS.length);
+		System.arraycopy(windowMaxAllocated, 0, lastWindowMaxAllocated, 0, STAGES.length);
+		lastWindowMaxRenderAllocated = windowMaxRenderAllocated;
+
+		if (config.logTickTimings())
+		{
+			log.info(summary("wave " + wave + ", last " + WINDOW_TICKS + " ticks", windowHistograms, windowCounters));
+		}
+
+		for (Histogram histogram : windowHistograms)
+		{
+			histogram.reset();
+		}
+
+		Arrays.fill(windowCounters, 0);
+		Arrays.fill(windowMaxAllocated, 0);
+		windowMaxRenderAllocated = 0;
+		overBudgetLogged = false;
+		windowTicks = 0;
+	}
+
+	private void checkAllocations(int currentWave)
+	{
+		for (Stage stage : STAGES)
+		{
+			final long allocated = tickAllocated[stage.ordinal()];
+			windowMaxAllocated[stage.ordinal()] = Math.max(windowMaxAllocated[stage.ordinal()], allocated);
+
+			// The total is the sum of the stages, the budget applies to each of them
+			if (stage != Stage.TOTAL && allocated > allocationBudget && !overBudgetLogged)
+			{
+				log.warn("Inferno tick stage {} allocated {} bytes on wave {}, the budget is {} bytes",
+					stage, allocated, currentWave, allocationBudget);
+				overBudgetLogged = true;
+			}
+		}
+	}
+
+	/**
+	 * @return the nanos the stage took on the current or last finished tick
+	 */
+	long getTickNanos(Stage stage)
+	{
+		return tickNanos[stage.ordinal()];
+	}
+
+	long getP50(Stage stage)
+	{
+		return lastWindowP50[stage.ordinal()];
+	}
+
+	long getP99(Stage stage)
+	{
+		return lastWindowP99[stage.ordinal()];
+	}
+
+	long getMax(Stage stage)
+	{
+		return lastWindowMax[stage.ordinal()];
+	}
+
+	long getCount(Counter counter)
+	{
+		return lastWindowCounters[counter.ordinal()];
+	}
+
+	long getMaxAllocated(Stage stage)
+	{
+		return lastWindowMaxAllocated[stage.ordinal()];
+	}
+
+	long getMaxRenderAllocated()
+	{
+		return lastWindowMaxRenderAllocated;
+	}
+
+	void reset()
+	{
+		for (int i = 0; i < STAGES.length; i++)
+		{
+			windowHistograms[i].reset();
+			waveHistograms[i].reset();
+		}
+
+		Arrays.fill(windowCounters, 0);
+		Arrays.fill(lastWindowP50, 0);
+		Arrays.fill(lastWindowP99, 0);
+		Arrays.fill(lastWindowMax, 0);
+		Arrays.fill(lastWindowCounters, 0);
+		Arrays.fill(tickAllocated, 0);
+		Arrays.fill(windowMaxAllocated, 0);
+		Arrays.fill(lastWindowMaxAllocated, 0);
+		windowMaxRenderAllocated = 0;
+		lastWindowMaxRenderAllocated = 0;
+		overBudgetLogged = false;
+		trackAllocations = false;
+		windowTicks = 0;
+		wave = -1;
+	}
+
+	/**
+	 * @return the amount of bytes allocated by the current thread so far, or -1 if the JVM can't tell
+	 */
+	static long getAllocatedBytes()
+	{
+		if (THREAD_MX_BEAN == null || !THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled())
+		{
+			return -1;
+		}
+
+		return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static String summary(String header, Histogram[] histograms, long[] counters)
+	{
+		final StringBuilder sb = new StringBuilder("Inferno tick timings (").append(header).append(") p50/p99/max us:");
+
+		for (Stage stage : STAGES)
+		{
+			final Histogram histogram = histograms[stage.ordinal()];
+			sb.append(' ').append(stage.name().toLowerCase()).append('=')
+				.append(histogram.percentile(0.5) / 1000).append('/')
+				.append(histogram.percentile(0.99) / 1000).append('/')
+				.append(histogram.getMax() / 1000);
+		}
+
+		if (counters != null)
+		{
+			for (Counter counter : COUNTERS)
+			{
+				sb.append(' ').append(counter.name().toLowerCase()).append('=').append(counters[counter.ordinal()]);
+			}
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Histogram with 4 linear sub buckets per power of two, which keeps the error of a percentile under 25%.
+	 */
+	static final class Histogram
+	{
+		private static final int SUB_BUCKET_BITS = 2;
+		private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+		// Enough to hold values up to 2^41 nanoseconds, about half an hour
+		private static final int BUCKETS = 40 * SUB_BUCKETS;
+
+		private final long[] buckets = new long[BUCKETS];
+		private long count;
+		private long max;
+
+		void record(long nanos)
+		{
+			buckets[bucketIndex(nanos)]++;
+			count++;
+			max = Math.max(max, nanos);
+		}
+
+		long getMax()
+		{
+			return max;
+		}
+
+		/**
+		 * @return the upper bound of the bucket holding the given percentile
+		 */
+		long percentile(double percentile)
+		{
+			if (count == 0)
+			{
+				return 0;
+			}
+
+			final long target = (long) Math.ceil(count * percentile);
+			long seen = 0;
+
+			for (int i = 0; i < BUCKETS; i++)
+			{
+				seen += buckets[i];
+
+				if (seen >= target)
+				{
+					return Math.min(bucketUpperBound(i), max);
+				}
+			}
+
+			return max;
+		}
+
+		void reset()
+		{
+			Arrays.fill(buckets, 0);
+			count = 0;
+			max = 0;
+		}
+
+		static int bucketIndex(long nanos)
+		{
+			if (nanos < SUB_BUCKETS)
+			{
+				return (int) Math.max(nanos, 0);
+			}
+
+			final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+			final int subBucket = (int) ((nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+			return Math.min((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket, BUCKETS - 1);
+		}
+
+		static long bucketUpperBound(int index)
+		{
+			if (index < SUB_BUCKETS)
+			{
+				return index;
+			}
+
+			final int shift = index / SUB_BUCKETS - 1;
+			final long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+			return lowerBound + (1L << shift) - 1;
+		}
+	}
+}
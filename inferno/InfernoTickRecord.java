@@ -0,0 +1,263 @@
+package net.runelite.client.plugins.inferno;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.Prayer;
+
+/**
+ * Snapshot of a single recorded game tick. Instances are reused while reading a recording, the NPC arrays only grow
+ * when a tick holds more NPCs than any tick before it.
+ */
+class InfernoTickRecord
+{
+	private static final Prayer[] PRAYERS = Prayer.values();
+	private static final InfernoNPC.Attack[] ATTACKS = InfernoNPC.Attack.values();
+
+	@Getter(AccessLevel.PACKAGE)
+	int tick;
+	@Getter(AccessLevel.PACKAGE)
+	int wave;
+	@Getter(AccessLevel.PACKAGE)
+	int playerX;
+	@Getter(AccessLevel.PACKAGE)
+	int playerY;
+	@Getter(AccessLevel.PACKAGE)
+	int plane;
+	// Bit n is set when Prayer.values()[n] is active
+	@Getter(AccessLevel.PACKAGE)
+	long activePrayers;
+
+	@Getter(AccessLevel.PACKAGE)
+	int npcCount;
+	int[] npcIds = new int[16];
+	int[] npcIndices = new int[16];
+	int[] npcX = new int[16];
+	int[] npcY = new int[16];
+	int[] npcAnimations = new int[16];
+	int[] npcHealthRatios = new int[16];
+	int[] npcHealthScales = new int[16];
+
+	@Getter(AccessLevel.PACKAGE)
+	final List<String> chatMessages = new ArrayList<>();
+
+	// What the plugin made of the tick, only present in recordings of the black box
+	@Getter(AccessLevel.PACKAGE)
+	boolean engineRecorded;
+	// Prayer.values()[n - 1] and InfernoNPC.Attack.values()[n - 1], or 0 for none
+	int recommendedPrayer;
+	int closestAttack;
+	// Bit n of entry t is set when InfernoNPC.Attack.values()[n] is upcoming in t + 1 ticks
+	int timelineLength;
+	int[] timeline = new int[16];
+	// Nanos of InfernoTickProfiler.Stage.values()[n]
+	int stageCount;
+	long[] stageNanos = new long[16];
+
+	void clear()
+	{
+		tick = 0;
+		wave = 0;
+		playerX = 0;
+		playerY = 0;
+		plane = 0;
+		activePrayers = 0;
+		npcCount = 0;
+		chatMessages.clear();
+		engineRecorded = false;
+		recommendedPrayer = 0;
+		closestAttack = 0;
+		timelineLength = 0;
+		stageCount = 0;
+	}
+
+	void copyFrom(InfernoTickRecord other)
+	{
+		tick = other.tick;
+		wave = other.wave;
+		playerX = other.playerX;
+		playerY = other.playerY;
+		plane = other.plane;
+		activePrayers = other.activePrayers;
+		npcCount = 0;
+		ensureNpcCapacity(other.npcCount);
+		System.arraycopy(other.npcIds, 0, npcIds, 0, other.npcCount);
+		System.arraycopy(other.npcIndices, 0, npcIndices, 0, other.npcCount);
+		System.arraycopy(other.npcX, 0, npcX, 0, other.npcCount);
+		System.arraycopy(other.npcY, 0, npcY, 0, other.npcCount);
+		System.arraycopy(other.npcAnimations, 0, npcAnimations, 0, other.npcCount);
+		System.arraycopy(other.npcHealthRatios, 0, npcHealthRatios, 0, other.npcCount);
+		System.arraycopy(other.npcHealthScales, 0, npcHealthScales, 0, other.npcCount);
+		npcCount = other.npcCount;
+		chatMessages.clear();
+		chatMessages.addAll(other.chatMessages);
+		engineRecorded = other.engineRecorded;
+		recommendedPrayer = other.recommendedPrayer;
+		closestAttack = other.closestAttack;
+		timelineLength = 0;
+		ensureTimelineCapacity(other.timelineLength);
+		System.arraycopy(other.timeline, 0, timeline, 0, other.timelineLength);
+		timelineLength = other.timelineLength;
+		stageCount = 0;
+		ensureStageCapacity(other.stageCount);
+		System.arraycopy(other.stageNanos, 0, stageNanos, 0, other.stageCount);
+		stageCount = other.stageCount;
+	}
+
+	void ensureTimelineCapacity(int capacity)
+	{
+		if (capacity > timeline.length)
+		{
+			timeline = Arrays.copyOf(timeline, capacity);
+		}
+	}
+
+	void ensureStageCapacity(int capacity)
+	{
+		if (capacity > stageNanos.length)
+		{
+			stageNanos = Arrays.copyOf(stageNanos, capacity);
+		}
+	}
+
+	/**
+	 * Makes room for the given amount of NPCs, keeping the NPCs already stored.
+	 */
+	void ensureNpcCapacity(int capacity)
+	{
+		if (capacity <= npcIds.length)
+		{
+			return;
+		}
+
+		final int length = Math.max(capacity, npcIds.length * 2);
+		npcIds = Arrays.copyOf(npcIds, length);
+		npcIndices = Arrays.copyOf(npcIndices, length);
+		npcX = Arrays.copyOf(npcX, length);
+		npcY = Arrays.copyOf(npcY, length);
+		npcAnimations = Arrays.copyOf(npcAnimations, length);
+		npcHealthRatios = Arrays.copyOf(npcHealthRatios, length);
+		npcHealthScales = Arrays.copyOf(npcHealthScales, length);
+	}
+
+	void addNpc(int id, int index, int x, int y, int animation, int healthRatio, int healthScale)
+	{
+		ensureNpcCapacity(npcCount + 1);
+		npcIds[npcCount] = id;
+		npcIndices[npcCount] = index;
+		npcX[npcCount] = x;
+		npcY[npcCount] = y;
+		npcAnimations[npcCount] = animation;
+		npcHealthRatios[npcCount] = healthRatio;
+		npcHealthScales[npcCount] = healthScale;
+		npcCount++;
+	}
+
+	/**
+	 * @param hint position to check first, NPCs are usually in the same order as the tick before
+	 * @return the position of the NPC with the given client index, or -1
+	 */
+	int findNpc(int index, int hint)
+	{
+		if (hint < npcCount && npcIndices[hint] == index)
+		{
+			return hint;
+		}
+
+		for (int i = 0; i < npcCount; i++)
+		{
+			if (npcIndices[i] == index)
+			{
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	int getNpcId(int i)
+	{
+		return npcIds[i];
+	}
+
+	int getNpcIndex(int i)
+	{
+		return npcIndices[i];
+	}
+
+	int getNpcX(int i)
+	{
+		return npcX[i];
+	}
+
+	int getNpcY(int i)
+	{
+		return npcY[i];
+	}
+
+	int getNpcAnimation(int i)
+	{
+		return npcAnimations[i];
+	}
+
+	int getNpcHealthRatio(int i)
+	{
+		return npcHealthRatios[i];
+	}
+
+	int getNpcHealthScale(int i)
+	{
+		return npcHealthScales[i];
+	}
+
+	Prayer getRecommendedPrayer()
+	{
+		return recommendedPrayer == 0 ? null : PRAYERS[recommendedPrayer - 1];
+	}
+
+	InfernoNPC.Attack getClosestAttack()
+	{
+		return closestAttack == 0 ? null : ATTACKS[closestAttack - 1];
+	}
+
+	int getTimelineLength()
+	{
+		return timelineLength;
+	}
+
+	boolean isUpcoming(int ticks, InfernoNPC.Attack attack)
+	{
+		return ticks >= 1 && ticks <= timelineLength && (timeline[ticks - 1] & 1 << attack.ordinal()) != 0;
+	}
+
+	/**
+	 * @return the nanos the stage took on this tick, 0 if it wasn't recorded
+	 */
+	long getStageNanos(InfernoTickProfiler.Stage stage)
+	{
+		return stage.ordinal() < stageCount ? stageNanos[stage.ordinal()] : 0;
+	}
+
+	boolean isPrayerActive(Prayer prayer)
+	{
+		return (activePrayers & (1L << prayer.ordinal())) != 0;
+	}
+
+	static long prayerMask(Client client)
+	{
+		long mask = 0;
+
+		for (Prayer prayer : PRAYERS)
+		{
+			if (client.isPrayerActive(prayer))
+			{
+				mask |= 1L << prayer.ordinal();
+			}
+		}
+
+		return mask;
+	}
+}
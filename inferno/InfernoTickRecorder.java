@@ -0,0 +1,142 @@
+package net.runelite.client.plugins.inferno;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.NPC;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.RuneLite;
+import net.runelite.client.plugins.kotoriutils.methods.NPCInteractions;
+
+/**
+ * Writes one record per game tick spent in the Inferno to a file in the RuneLite directory, so runs can be looked
+ * at and profiled after the fact with {@link InfernoReplay}. Pillars are NPCs, so their state is part of the NPC table
+ * of every record.
+ */
+@Slf4j
+@Singleton
+class InfernoTickRecorder
+{
+	static final File RECORDING_DIR = new File(RuneLite.RUNELITE_DIR, "inferno-recordings");
+
+	private final Client client;
+	private final InfernoAnimationStore animationStore;
+	private final InfernoTickRecord record = new InfernoTickRecord();
+
+	private InfernoTickWriter writer;
+	private int tick;
+
+	@Inject
+	InfernoTickRecorder(final Client client, final InfernoAnimationStore animationStore)
+	{
+		this.client = client;
+		this.animationStore = animationStore;
+	}
+
+	boolean isRecording()
+	{
+		return writer != null;
+	}
+
+	void start()
+	{
+		if (writer != null)
+		{
+			return;
+		}
+
+		final File file = newRecordingFile("");
+
+		try
+		{
+			RECORDING_DIR.mkdirs();
+			writer = new InfernoTickWriter(file);
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to start Inferno recording {}", file, ex);
+			return;
+		}
+
+		tick = 0;
+		record.clear();
+		log.debug("Recording Inferno ticks to {}", file);
+	}
+
+	void stop()
+	{
+		if (writer == null)
+		{
+			return;
+		}
+
+		try
+		{
+			writer.close();
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to finish Inferno recording", ex);
+		}
+
+		writer = null;
+	}
+
+	/**
+	 * Chat messages are kept until the next call to {@link #recordTick(int)}.
+	 */
+	void onChatMessage(String message)
+	{
+		if (writer != null)
+		{
+			record.chatMessages.add(message);
+		}
+	}
+
+	void recordTick(int wave)
+	{
+		if (writer == null)
+		{
+			return;
+		}
+
+		final WorldPoint playerLocation = client.getLocalPlayer().getWorldLocation();
+
+		record.tick = tick++;
+		record.wave = wave;
+		record.playerX = playerLocation.getX();
+		record.playerY = playerLocation.getY();
+		record.plane = playerLocation.getPlane();
+		record.activePrayers = InfernoTickRecord.prayerMask(client);
+		record.npcCount = 0;
+
+		for (NPC npc : NPCInteractions.getNpcs())
+		{
+			final WorldPoint location = npc.getWorldLocation();
+			record.addNpc(npc.getId(), npc.getIndex(), location.getX(), location.getY(),
+				animationStore.getAnimation(npc), npc.getHealthRatio(), npc.getHealthScale());
+		}
+
+		try
+		{
+			writer.write(record);
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to write Inferno recording, stopping", ex);
+			stop();
+		}
+
+		record.chatMessages.clear();
+	}
+
+	static File newRecordingFile(String suffix)
+	{
+		return new File(RECORDING_DIR, new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date()) + suffix + ".rec");
+	}
+}
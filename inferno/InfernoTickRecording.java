@@ -0,0 +1,330 @@
+package net.runelite.client.plugins.inferno;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a recording written by {@link InfernoTickWriter}. The file is memory mapped and every tick is decoded
+ * straight from the mapping into one of two reused {@link InfernoTickRecord}s, so reading a run allocates nothing
+ * but the chat messages.
+ */
+class InfernoTickRecording implements Closeable
+{
+	private static final int HEADER_SIZE = 8;
+	private static final int END_OF_TICKS = 0xFF;
+
+	private final RandomAccessFile file;
+	private final MappedByteBuffer buffer;
+	// Offset of the first byte after the ticks
+	private final int end;
+
+	private final int[] indexWaves;
+	private final int[] indexOffsets;
+
+	private InfernoTickRecord record = new InfernoTickRecord();
+	private InfernoTickRecord previous = new InfernoTickRecord();
+	private byte[] stringBuffer = new byte[128];
+
+	InfernoTickRecording(File recording) throws IOException
+	{
+		file = new RandomAccessFile(recording, "r");
+
+		try
+		{
+			buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+
+			if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != InfernoTickWriter.MAGIC)
+			{
+				throw new IOException("Not an Inferno recording: " + recording);
+			}
+
+			final int version = buffer.getInt(4);
+
+			if (version < InfernoTickWriter.MIN_VERSION || version > InfernoTickWriter.VERSION)
+			{
+				throw new IOException("Unsupported Inferno recording version " + version + ": " + recording);
+			}
+
+			final int limit = buffer.limit();
+
+			if (limit >= HEADER_SIZE + 8 && buffer.getInt(limit - 4) == InfernoTickWriter.INDEX_MAGIC)
+			{
+				end = buffer.getInt(limit - 8);
+				buffer.position(end + 1);
+
+				final int indexSize = readVarInt();
+				indexWaves = new int[indexSize];
+				indexOffsets = new int[indexSize];
+
+				for (int i = 0; i < indexSize; i++)
+				{
+					indexWaves[i] = readVarInt();
+					indexOffsets[i] = readVarInt();
+				}
+			}
+			else
+			{
+				// The recording was never finished, read as much of it as possible
+				end = limit;
+				indexWaves = new int[0];
+				indexOffsets = new int[0];
+			}
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			file.close();
+			throw ex;
+		}
+
+		buffer.position(HEADER_SIZE);
+	}
+
+	/**
+	 * @return the waves which can be jumped to with {@link #seekWave(int)}, empty for an unfinished recording
+	 */
+	int[] getWaves()
+	{
+		return indexWaves.clone();
+	}
+
+	/**
+	 * Moves to the first tick of the given wave.
+	 *
+	 * @return false if the recording has no index entry for the wave
+	 */
+	boolean seekWave(int wave)
+	{
+		for (int i = 0; i < indexWaves.length; i++)
+		{
+			if (indexWaves[i] == wave)
+			{
+				buffer.position(indexOffsets[i]);
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return the next tick, or null once the end of the recording has been reached. The record is reused and only
+	 * valid until the following call.
+	 */
+	InfernoTickRecord next() throws IOException
+	{
+		if (buffer.position() >= end)
+		{
+			return null;
+		}
+
+		try
+		{
+			final int flags = buffer.get() & 0xFF;
+
+			if (flags == END_OF_TICKS)
+			{
+				return null;
+			}
+
+			if ((flags & InfernoTickWriter.KEY_FRAME) != 0)
+			{
+				previous.clear();
+			}
+
+			decode(flags);
+		}
+		catch (BufferUnderflowException | IndexOutOfBoundsException ex)
+		{
+			// Only the last tick of a recording cut short by a crash can be incomplete
+			buffer.position(end);
+			return null;
+		}
+
+		final InfernoTickRecord decoded = record;
+		record = previous;
+		previous = decoded;
+		return decoded;
+	}
+
+	private void decode(int flags) throws IOException
+	{
+		record.clear();
+		record.tick = previous.tick + readVarInt();
+		record.wave = (flags & InfernoTickWriter.WAVE_CHANGED) != 0 ? readVarInt() : previous.wave;
+
+		if ((flags & InfernoTickWriter.PLAYER_MOVED) != 0)
+		{
+			record.playerX = previous.playerX + readSignedVarInt();
+			record.playerY = previous.playerY + readSignedVarInt();
+			record.plane = readVarInt();
+		}
+		else
+		{
+			record.playerX = previous.playerX;
+			record.playerY = previous.playerY;
+			record.plane = previous.plane;
+		}
+
+		record.activePrayers = (flags & InfernoTickWriter.PRAYERS_CHANGED) != 0 ? readVarLong() : previous.activePrayers;
+
+		final int npcCount = readVarInt();
+		record.ensureNpcCapacity(npcCount);
+
+		for (int i = 0; i < npcCount; i++)
+		{
+			decodeNpc(i);
+		}
+
+		if ((flags & InfernoTickWriter.CHAT) != 0)
+		{
+			final int chatCount = readVarInt();
+
+			for (int i = 0; i < chatCount; i++)
+			{
+				final int length = readVarInt();
+
+				if (length > stringBuffer.length)
+				{
+					stringBuffer = new byte[length];
+				}
+
+				buffer.get(stringBuffer, 0, length);
+				record.chatMessages.add(new String(stringBuffer, 0, length, StandardCharsets.UTF_8));
+			}
+		}
+
+		if ((flags & InfernoTickWriter.ENGINE) != 0)
+		{
+			record.engineRecorded = true;
+			record.recommendedPrayer = readVarInt();
+			record.closestAttack = readVarInt();
+
+			final int timelineLength = readVarInt();
+			record.ensureTimelineCapacity(timelineLength);
+
+			for (int i = 0; i < timelineLength; i++)
+			{
+				record.timeline[i] = readVarInt();
+			}
+
+			record.timelineLength = timelineLength;
+
+			final int stageCount = readVarInt();
+			record.ensureStageCapacity(stageCount);
+
+			for (int i = 0; i < stageCount; i++)
+			{
+				record.stageNanos[i] = readVarLong();
+			}
+
+			record.stageCount = stageCount;
+		}
+	}
+
+	private void decodeNpc(int i) throws IOException
+	{
+		final int index = readVarInt();
+		final int npcFlags = buffer.get() & 0xFF;
+
+		if ((npcFlags & InfernoTickWriter.NPC_NEW) != 0)
+		{
+			record.addNpc(readVarInt(), index, readVarInt(), readVarInt(),
+				readSignedVarInt(), readSignedVarInt(), readSignedVarInt());
+			return;
+		}
+
+		final int p = previous.findNpc(index, i);
+
+		if (p == -1)
+		{
+			throw new IOException("Inferno recording references unknown npc " + index + " at tick " + record.tick);
+		}
+
+		final int x;
+		final int y;
+
+		if ((npcFlags & InfernoTickWriter.NPC_MOVED) != 0)
+		{
+			x = previous.npcX[p] + readSignedVarInt();
+			y = previous.npcY[p] + readSignedVarInt();
+		}
+		else
+		{
+			x = previous.npcX[p];
+			y = previous.npcY[p];
+		}
+
+		final int animation = (npcFlags & InfernoTickWriter.NPC_ANIMATION_CHANGED) != 0
+			? readSignedVarInt() : previous.npcAnimations[p];
+
+		final int healthRatio;
+		final int healthScale;
+
+		if ((npcFlags & InfernoTickWriter.NPC_HEALTH_CHANGED) != 0)
+		{
+			healthRatio = readSignedVarInt();
+			healthScale = readSignedVarInt();
+		}
+		else
+		{
+			healthRatio = previous.npcHealthRatios[p];
+			healthScale = previous.npcHealthScales[p];
+		}
+
+		record.addNpc(previous.npcIds[p], index, x, y, animation, healthRatio, healthScale);
+	}
+
+	private int readVarInt()
+	{
+		int value = 0;
+
+		for (int shift = 0; shift < 35; shift += 7)
+		{
+			final byte b = buffer.get();
+			value |= (b & 0x7F) << shift;
+
+			if (b >= 0)
+			{
+				return value;
+			}
+		}
+
+		throw new IllegalStateException("Malformed varint in Inferno recording");
+	}
+
+	private int readSignedVarInt()
+	{
+		final int value = readVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private long readVarLong()
+	{
+		long value = 0;
+
+		for (int shift = 0; shift < 70; shift += 7)
+		{
+			final byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+
+			if (b >= 0)
+			{
+				return value;
+			}
+		}
+
+		throw new IllegalStateException("Malformed varint in Inferno recording");
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		file.close();
+	}
+}
@@ -0,0 +1,290 @@
+package net.runelite.client.plugins.inferno;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodes ticks into the recording format read by {@link InfernoTickRecording}, which {@link InfernoReplay} uses to
+ * replay and profile recordings outside of the client.
+ *
+ * <p>Every tick is stored as a diff against the previous one using varints: only the fields of the player and NPCs
+ * which changed are written. The first tick of every wave is a key frame encoded against an empty tick, and the
+ * offsets of the key frames are written as an index at the end of the file so a replay can jump to any wave.
+ */
+class InfernoTickWriter implements Closeable
+{
+	static final int MAGIC = 0x494E4652; // INFR
+	static final int INDEX_MAGIC = 0x494E4458; // INDX
+	static final int VERSION = 3;
+	// Recordings before the engine section was added can still be read
+	static final int MIN_VERSION = 2;
+
+	// Tick flags
+	static final int KEY_FRAME = 1;
+	static final int WAVE_CHANGED = 1 << 1;
+	static final int PLAYER_MOVED = 1 << 2;
+	static final int PRAYERS_CHANGED = 1 << 3;
+	static final int CHAT = 1 << 4;
+	static final int ENGINE = 1 << 5;
+
+	// NPC flags
+	static final int NPC_NEW = 1;
+	static final int NPC_MOVED = 1 << 1;
+	static final int NPC_ANIMATION_CHANGED = 1 << 2;
+	static final int NPC_HEALTH_CHANGED = 1 << 3;
+
+	private final DataOutputStream out;
+	private final InfernoTickRecord previous = new InfernoTickRecord();
+
+	// Wave number and file offset of every key frame
+	private int[] indexWaves = new int[80];
+	private int[] indexOffsets = new int[80];
+	private int indexSize;
+
+	InfernoTickWriter(File file) throws IOException
+	{
+		out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+	}
+
+	void write(InfernoTickRecord record) throws IOException
+	{
+		if (indexSize == 0 || record.wave != previous.wave)
+		{
+			addIndexEntry(record.wave, out.size());
+			previous.clear();
+			encode(record, KEY_FRAME);
+		}
+		else
+		{
+			encode(record, 0);
+		}
+
+		previous.copyFrom(record);
+	}
+
+	/**
+	 * Writes the wave index and closes the file.
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			writeIndex();
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	private void encode(InfernoTickRecord record, int flags) throws IOException
+	{
+		if (record.wave != previous.wave)
+		{
+			flags |= WAVE_CHANGED;
+		}
+
+		if (record.playerX != previous.playerX || record.playerY != previous.playerY || record.plane != previous.plane)
+		{
+			flags |= PLAYER_MOVED;
+		}
+
+		if (record.activePrayers != previous.activePrayers)
+		{
+			flags |= PRAYERS_CHANGED;
+		}
+
+		if (!record.chatMessages.isEmpty())
+		{
+			flags |= CHAT;
+		}
+
+		if (record.engineRecorded)
+		{
+			flags |= ENGINE;
+		}
+
+		out.writeByte(flags);
+		writeVarInt(out, record.tick - previous.tick);
+
+		if ((flags & WAVE_CHANGED) != 0)
+		{
+			writeVarInt(out, record.wave);
+		}
+
+		if ((flags & PLAYER_MOVED) != 0)
+		{
+			writeSignedVarInt(out, record.playerX - previous.playerX);
+			writeSignedVarInt(out, record.playerY - previous.playerY);
+			writeVarInt(out, record.plane);
+		}
+
+		if ((flags & PRAYERS_CHANGED) != 0)
+		{
+			writeVarLong(out, record.activePrayers);
+		}
+
+		writeVarInt(out, record.npcCount);
+
+		for (int i = 0; i < record.npcCount; i++)
+		{
+			writeNpc(record, i, previous.findNpc(record.npcIndices[i], i));
+		}
+
+		if ((flags & CHAT) != 0)
+		{
+			writeVarInt(out, record.chatMessages.size());
+
+			for (String message : record.chatMessages)
+			{
+				final byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+				writeVarInt(out, bytes.length);
+				out.write(bytes);
+			}
+		}
+
+		if ((flags & ENGINE) != 0)
+		{
+			writeVarInt(out, record.recommendedPrayer);
+			writeVarInt(out, record.closestAttack);
+			writeVarInt(out, record.timelineLength);
+
+			for (int i = 0; i < record.timelineLength; i++)
+			{
+				writeVarInt(out, record.timeline[i]);
+			}
+
+			writeVarInt(out, record.stageCount);
+
+			for (int i = 0; i < record.stageCount; i++)
+			{
+				writeVarLong(out, record.stageNanos[i]);
+			}
+		}
+	}
+
+	private void writeNpc(InfernoTickRecord record, int i, int p) throws IOException
+	{
+		writeVarInt(out, record.npcIndices[i]);
+
+		if (p == -1 || previous.npcIds[p] != record.npcIds[i])
+		{
+			out.writeByte(NPC_NEW);
+			writeVarInt(out, record.npcIds[i]);
+			writeVarInt(out, record.npcX[i]);
+			writeVarInt(out, record.npcY[i]);
+			writeSignedVarInt(out, record.npcAnimations[i]);
+			writeSignedVarInt(out, record.npcHealthRatios[i]);
+			writeSignedVarInt(out, record.npcHealthScales[i]);
+			return;
+		}
+
+		int flags = 0;
+
+		if (record.npcX[i] != previous.npcX[p] || record.npcY[i] != previous.npcY[p])
+		{
+			flags |= NPC_MOVED;
+		}
+
+		if (record.npcAnimations[i] != previous.npcAnimations[p])
+		{
+			flags |= NPC_ANIMATION_CHANGED;
+		}
+
+		if (record.npcHealthRatios[i] != previous.npcHealthRatios[p]
+			|| record.npcHealthScales[i] != previous.npcHealthScales[p])
+		{
+			flags |= NPC_HEALTH_CHANGED;
+		}
+
+		out.writeByte(flags);
+
+		if ((flags & NPC_MOVED) != 0)
+		{
+			writeSignedVarInt(out, record.npcX[i] - previous.npcX[p]);
+			writeSignedVarInt(out, record.npcY[i] - previous.npcY[p]);
+		}
+
+		if ((flags & NPC_ANIMATION_CHANGED) != 0)
+		{
+			writeSignedVarInt(out, record.npcAnimations[i]);
+		}
+
+		if ((flags & NPC_HEALTH_CHANGED) != 0)
+		{
+			writeSignedVarInt(out, record.npcHealthRatios[i]);
+			writeSignedVarInt(out, record.npcHealthScales[i]);
+		}
+	}
+
+	private void addIndexEntry(int wave, int offset)
+	{
+		if (indexSize == indexWaves.length)
+		{
+			indexWaves = Arrays.copyOf(indexWaves, indexSize * 2);
+			indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+		}
+
+		indexWaves[indexSize] = wave;
+		indexOffsets[indexSize] = offset;
+		indexSize++;
+	}
+
+	/**
+	 * The index is followed by its own offset and {@link #INDEX_MAGIC}, so it can be found from the end of the file.
+	 * A recording cut short by a crash has no index and is read from the start.
+	 */
+	private void writeIndex() throws IOException
+	{
+		final int indexOffset = out.size();
+
+		// Marks the end of the ticks
+		out.writeByte(0xFF);
+		writeVarInt(out, indexSize);
+
+		for (int i = 0; i < indexSize; i++)
+		{
+			writeVarInt(out, indexWaves[i]);
+			writeVarInt(out, indexOffsets[i]);
+		}
+
+		out.writeInt(indexOffset);
+		out.writeInt(INDEX_MAGIC);
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException
+	{
+		while ((value & ~0x7F) != 0)
+		{
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+
+		out.writeByte(value);
+	}
+
+	private static void writeSignedVarInt(DataOutputStream out, int value) throws IOException
+	{
+		writeVarInt(out, (value << 1) ^ (value >> 31));
+	}
+
+	private static void writeVarLong(DataOutputStream out, long value) throws IOException
+	{
+		while ((value & ~0x7FL) != 0)
+		{
+			out.writeByte((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+
+		out.writeByte((int) value);
+	}
+}
@@ -0,0 +1,80 @@
+package net.runelite.client.plugins.inferno;
+
+import java.util.Arrays;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Per tile answers of an {@link InfernoNPC}, kept across ticks for as long as the version passed to
+ * {@link #validate(long)} doesn't change. Tiles are stored by their packed coordinates in a fixed table of
+ * {@link #SIZE} entries, indexed by the low bits of x and y, so a 16x16 area around the player never collides and a tile
+ * outside of it replaces the tile 16 tiles away. {@link InfernoConfig#SAFESPOTS_CHECK_SIZE_MAX} must stay below 16.
+ */
+final class InfernoTileCache
+{
+	static final byte MISS = -1;
+
+	private static final int SIZE = 256;
+	private static final long EMPTY = Long.MIN_VALUE;
+
+	private final long[] tiles = new long[SIZE];
+	private final byte[] values = new byte[SIZE];
+	private long version = EMPTY;
+
+	InfernoTileCache()
+	{
+		Arrays.fill(tiles, EMPTY);
+	}
+
+	/**
+	 * @return true if the version changed, which drops every tile
+	 */
+	boolean validate(long version)
+	{
+		if (version == this.version)
+		{
+			return false;
+		}
+
+		this.version = version;
+		clear();
+		return true;
+	}
+
+	void clear()
+	{
+		Arrays.fill(tiles, EMPTY);
+	}
+
+	/**
+	 * @return the value of the tile, or {@link #MISS}
+	 */
+	byte get(WorldPoint tile)
+	{
+		final long key = pack(tile);
+		final int slot = slot(tile);
+		return tiles[slot] == key ? values[slot] : MISS;
+	}
+
+	/**
+	 * @return true if another tile was evicted to make room
+	 */
+	boolean put(WorldPoint tile, byte value)
+	{
+		final long key = pack(tile);
+		final int slot = slot(tile);
+		final boolean evicted = tiles[slot] != EMPTY && tiles[slot] != key;
+		tiles[slot] = key;
+		values[slot] = value;
+		return evicted;
+	}
+
+	private static int slot(WorldPoint tile)
+	{
+		return (tile.getX() & 0xF) << 4 | (tile.getY() & 0xF);
+	}
+
+	private static long pack(WorldPoint tile)
+	{
+		return (long) tile.getPlane() << 32 | (long) (tile.getX() & 0xFFFF) << 16 | tile.getY() & 0xFFFF;
+	}
+}
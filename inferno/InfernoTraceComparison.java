@@ -0,0 +1,162 @@
+package net.runelite.client.plugins.inferno;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.plugins.infernoshared.EngineTraceWriter;
+
+/**
+ * Compares the newest {@link EngineTraceWriter} trace of the inferno, infernokotori and infernolucid plugins. Traces
+ * are joined on the client tick, so the engines are compared on the exact same game state. The mean cost and
+ * allocations of every engine and the ticks on which an engine disagrees with the inferno engine are written to the
+ * client log.
+ */
+@Slf4j
+final class InfernoTraceComparison
+{
+	private static final String[] VARIANTS = {InfernoEngineTrace.VARIANT, "infernokotori", "infernolucid"};
+	// Differing ticks logged per output and engine
+	private static final int LOGGED_DIFFERENCES = 3;
+
+	private static final String[] OUTPUT_NAMES = {"closest attack", "upcoming attacks", "safespots"};
+	private static final int[] OUTPUTS = {EngineTraceWriter.CLOSEST_ATTACK, EngineTraceWriter.UPCOMING_ATTACKS,
+		EngineTraceWriter.SAFESPOTS};
+
+	private InfernoTraceComparison()
+	{
+	}
+
+	static void compareLatest()
+	{
+		final Map<Integer, String[]> reference = read(VARIANTS[0]);
+
+		if (reference == null)
+		{
+			log.info("Inferno trace comparison: no {} trace in {}", VARIANTS[0], EngineTraceWriter.TRACE_DIR);
+			return;
+		}
+
+		logCost(VARIANTS[0], reference);
+
+		for (int i = 1; i < VARIANTS.length; i++)
+		{
+			final Map<Integer, String[]> other = read(VARIANTS[i]);
+
+			if (other == null)
+			{
+				log.info("Inferno trace comparison: no {} trace in {}", VARIANTS[i], EngineTraceWriter.TRACE_DIR);
+				continue;
+			}
+
+			logCost(VARIANTS[i], other);
+			compare(VARIANTS[i], reference, other);
+		}
+	}
+
+	private static void logCost(String variant, Map<Integer, String[]> trace)
+	{
+		long upcomingNanos = 0;
+		long safespotNanos = 0;
+		long allocatedBytes = 0;
+
+		for (String[] tick : trace.values())
+		{
+			upcomingNanos += Long.parseLong(tick[EngineTraceWriter.UPCOMING_NANOS]);
+			safespotNanos += Long.parseLong(tick[EngineTraceWriter.SAFESPOT_NANOS]);
+			allocatedBytes += Long.parseLong(tick[EngineTraceWriter.ALLOCATED_BYTES]);
+		}
+
+		final int ticks = trace.size();
+		log.info("Inferno trace comparison: {} over {} ticks, attacks {}/tick, safespots {}/tick, {} bytes/tick",
+			variant, ticks, InfernoDebugOverlay.formatMillis(upcomingNanos / ticks),
+			InfernoDebugOverlay.formatMillis(safespotNanos / ticks), allocatedBytes / ticks);
+	}
+
+	private static void compare(String variant, Map<Integer, String[]> reference, Map<Integer, String[]> other)
+	{
+		final int[] differences = new int[OUTPUTS.length];
+		int commonTicks = 0;
+
+		for (Map.Entry<Integer, String[]> entry : reference.entrySet())
+		{
+			final String[] otherTick = other.get(entry.getKey());
+
+			if (otherTick == null)
+			{
+				continue;
+			}
+
+			commonTicks++;
+
+			for (int i = 0; i < OUTPUTS.length; i++)
+			{
+				final String expected = entry.getValue()[OUTPUTS[i]];
+				final String actual = otherTick[OUTPUTS[i]];
+
+				if (!expected.equals(actual) && differences[i]++ < LOGGED_DIFFERENCES)
+				{
+					log.info("Inferno trace comparison: tick {} {} differs, {} {} but {} {}",
+						entry.getKey(), OUTPUT_NAMES[i], VARIANTS[0], expected, variant, actual);
+				}
+			}
+		}
+
+		log.info("Inferno trace comparison: {} vs {} over {} common ticks, {} differ on {} ticks, {} on {} ticks, {} on {} ticks",
+			variant, VARIANTS[0], commonTicks,
+			OUTPUT_NAMES[0], differences[0], OUTPUT_NAMES[1], differences[1], OUTPUT_NAMES[2], differences[2]);
+	}
+
+	/**
+	 * @return the lines of the newest trace of the variant by client tick, or null if the variant has no trace
+	 */
+	private static Map<Integer, String[]> read(String variant)
+	{
+		final File[] files = EngineTraceWriter.TRACE_DIR.listFiles((dir, name) ->
+			name.startsWith(variant + "_") && name.endsWith(".trace"));
+
+		if (files == null || files.length == 0)
+		{
+			return null;
+		}
+
+		File newest = files[0];
+
+		for (File file : files)
+		{
+			// The timestamp in the name sorts chronologically
+			if (file.getName().compareTo(newest.getName()) > 0)
+			{
+				newest = file;
+			}
+		}
+
+		final Map<Integer, String[]> trace = new HashMap<>();
+
+		try (BufferedReader reader = new BufferedReader(new FileReader(newest)))
+		{
+			String line;
+
+			while ((line = reader.readLine()) != null)
+			{
+				final String[] fields = line.split("\t", -1);
+
+				// A trace cut short by the client closing may end with a partial line
+				if (fields.length == EngineTraceWriter.FIELDS)
+				{
+					trace.put(Integer.parseInt(fields[EngineTraceWriter.TICK]), fields);
+				}
+			}
+		}
+		catch (IOException | NumberFormatException ex)
+		{
+			log.warn("Unable to read Inferno engine trace {}", newest, ex);
+			return null;
+		}
+
+		return trace.isEmpty() ? null : trace;
+	}
+}
@@ -0,0 +1,401 @@
+package net.runelite.client.plugins.inferno;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import net.runelite.api.Prayer;
+
+/**
+ * Generates synthetic Inferno runs from a seed, written in the same format as {@link InfernoTickRecorder} so
+ * {@link InfernoReplay} can run them through the engine. NPCs of every wave in {@link InfernoWaveMappings} spawn on
+ * the arena's spawn points and walk towards the player (nibblers towards the closest pillar) with
+ * {@link InfernoEngineCore#nextTravellingPoint}, blocked by the pillars and each other. Once in reach they play their
+ * attack animation every {@link InfernoNPC.Type#getAttackSpeed()} ticks. The same seed always produces the same run.
+ */
+class InfernoWaveGenerator
+{
+	static final int TICKS_PER_WAVE = 50;
+
+	// South west tiles of the nine spawn points, from north west to south east
+	private static final int[][] SPAWN_POINTS = {
+		{2259, 5358}, {2270, 5358}, {2281, 5358},
+		{2259, 5351}, {2270, 5351}, {2281, 5351},
+		{2259, 5344}, {2270, 5344}, {2281, 5344},
+	};
+
+	// South west tiles of the three pillars
+	private static final int[][] PILLARS = {{2257, 5349}, {2274, 5351}, {2267, 5335}};
+	// Client indices of the pillars, out of the range handed out to the other NPCs
+	private static final int PILLAR_INDEX = 0x7FFF;
+
+	private static final int PLAYER_X = 2271;
+	private static final int PLAYER_Y = 5336;
+
+	// NPCs attacking from further away stop walking at this distance
+	private static final int MAX_REACH = 10;
+
+	// The region of the Inferno, NPCs can't leave it
+	private static final int REGION_X = 2240;
+	private static final int REGION_Y = 5312;
+	private static final int REGION_SIZE = 64;
+
+	private static final Prayer[] PROTECTION_PRAYERS = {
+		Prayer.PROTECT_FROM_MAGIC, Prayer.PROTECT_FROM_MISSILES, Prayer.PROTECT_FROM_MELEE
+	};
+
+	private final Random random;
+	private final InfernoTickRecord record = new InfernoTickRecord();
+	private final List<SyntheticNpc> npcs = new ArrayList<>();
+	// How many NPCs, pillars included, stand on every tile of the region
+	private final int[] occupied = new int[REGION_SIZE * REGION_SIZE];
+	private final InfernoEngineCore.TileBlocker blocker = this::isBlocked;
+
+	private int tick;
+	private int nextNpcIndex;
+	private int playerX;
+	private int playerY;
+	private long activePrayers;
+
+	InfernoWaveGenerator(long seed)
+	{
+		random = new Random(seed);
+		nextNpcIndex = random.nextInt(1 << 14);
+	}
+
+	/**
+	 * Writes {@link #TICKS_PER_WAVE} ticks for every wave from {@code firstWave} up to and including {@code lastWave}.
+	 */
+	void generateRun(InfernoTickWriter writer, int firstWave, int lastWave) throws IOException
+	{
+		resetPlayer();
+
+		for (int wave = firstWave; wave <= lastWave; wave++)
+		{
+			final int[] levels = InfernoWaveMappings.getWaveMapping().get(wave);
+
+			if (levels == null)
+			{
+				continue;
+			}
+
+			clearArena();
+			final int firstSpawn = random.nextInt(SPAWN_POINTS.length);
+
+			for (int i = 0; i < levels.length; i++)
+			{
+				final int[] spawn = SPAWN_POINTS[(firstSpawn + i) % SPAWN_POINTS.length];
+				spawn(typeFromLevel(levels[i]), spawn[0], spawn[1]);
+			}
+
+			record.chatMessages.add("<col=ef1020>Wave: " + wave + "</col>");
+
+			for (int i = 0; i < TICKS_PER_WAVE; i++)
+			{
+				writeTick(writer, wave);
+			}
+		}
+	}
+
+	/**
+	 * Writes a single stress scenario: the given amount of nibblers together with one NPC of every other type.
+	 */
+	void generateStress(InfernoTickWriter writer, int nibblers, int ticks) throws IOException
+	{
+		resetPlayer();
+		clearArena();
+
+		for (int i = 0; i < nibblers; i++)
+		{
+			final int[] pillar = PILLARS[i % PILLARS.length];
+			spawn(InfernoNPC.Type.NIBBLER, pillar[0] - 1 + random.nextInt(InfernoEngineCore.PILLAR_SIZE + 2),
+				pillar[1] + InfernoEngineCore.PILLAR_SIZE);
+		}
+
+		int spawnPoint = 0;
+
+		for (InfernoNPC.Type type : InfernoNPC.Type.values())
+		{
+			if (type != InfernoNPC.Type.NIBBLER && type != InfernoNPC.Type.HEALER_ZUK)
+			{
+				final int[] spawn = SPAWN_POINTS[spawnPoint++ % SPAWN_POINTS.length];
+				spawn(type, spawn[0], spawn[1]);
+			}
+		}
+
+		for (int i = 0; i < ticks; i++)
+		{
+			writeTick(writer, 0);
+		}
+	}
+
+	private void resetPlayer()
+	{
+		tick = 0;
+		playerX = PLAYER_X;
+		playerY = PLAYER_Y;
+		activePrayers = 0;
+		record.clear();
+	}
+
+	private void clearArena()
+	{
+		npcs.clear();
+		Arrays.fill(occupied, 0);
+
+		for (int[] pillar : PILLARS)
+		{
+			occupy(pillar[0], pillar[1], InfernoEngineCore.PILLAR_SIZE, 1);
+		}
+	}
+
+	/**
+	 * Spawns the NPC on the free tiles closest to the given tile, NPCs larger than the spawn points would otherwise
+	 * overlap the pillars or each other.
+	 */
+	private void spawn(InfernoNPC.Type type, int x, int y)
+	{
+		final int size = type.getSize();
+
+		for (int distance = 0; distance < REGION_SIZE; distance++)
+		{
+			for (int dx = -distance; dx <= distance; dx++)
+			{
+				for (int dy = -distance; dy <= distance; dy++)
+				{
+					if (Math.max(Math.abs(dx), Math.abs(dy)) == distance && isFree(x + dx, y + dy, size))
+					{
+						final SyntheticNpc npc = new SyntheticNpc(type, nextNpcIndex++ & 0x3FFF, x + dx, y + dy);
+						// Spread the attack cycles, NPCs of a wave don't spawn in sync
+						npc.cooldown = random.nextInt(type.getAttackSpeed() + 1);
+						npcs.add(npc);
+						occupy(npc.x, npc.y, size, 1);
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	private boolean isFree(int x, int y, int size)
+	{
+		for (int tileX = x; tileX < x + size; tileX++)
+		{
+			for (int tileY = y; tileY < y + size; tileY++)
+			{
+				if (isBlocked(tileX, tileY))
+				{
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	private void occupy(int x, int y, int size, int amount)
+	{
+		for (int tileX = x; tileX < x + size; tileX++)
+		{
+			for (int tileY = y; tileY < y + size; tileY++)
+			{
+				if (isInRegion(tileX, tileY))
+				{
+					occupied[(tileX - REGION_X) * REGION_SIZE + tileY - REGION_Y] += amount;
+				}
+			}
+		}
+	}
+
+	private boolean isBlocked(int x, int y)
+	{
+		return !isInRegion(x, y) || occupied[(x - REGION_X) * REGION_SIZE + y - REGION_Y] > 0;
+	}
+
+	private static boolean isInRegion(int x, int y)
+	{
+		return x >= REGION_X && x < REGION_X + REGION_SIZE && y >= REGION_Y && y < REGION_Y + REGION_SIZE;
+	}
+
+	private void writeTick(InfernoTickWriter writer, int wave) throws IOException
+	{
+		movePlayer();
+
+		record.tick = tick++;
+		record.wave = wave;
+		record.playerX = playerX;
+		record.playerY = playerY;
+		record.plane = 0;
+		record.activePrayers = activePrayers;
+		record.npcCount = 0;
+
+		for (int i = 0; i < PILLARS.length; i++)
+		{
+			record.addNpc(InfernoEngineCore.PILLAR_ID, PILLAR_INDEX - i, PILLARS[i][0], PILLARS[i][1], -1, -1, -1);
+		}
+
+		for (SyntheticNpc npc : npcs)
+		{
+			npc.tick();
+			record.addNpc(npc.type.getNpcIds()[0], npc.index, npc.x, npc.y, npc.animation, -1, -1);
+		}
+
+		writer.write(record);
+		record.chatMessages.clear();
+	}
+
+	private void movePlayer()
+	{
+		if (random.nextInt(8) == 0)
+		{
+			playerX = PLAYER_X + random.nextInt(3) - 1;
+			playerY = PLAYER_Y + random.nextInt(3) - 1;
+		}
+
+		if (random.nextInt(4) == 0)
+		{
+			activePrayers = 1L << PROTECTION_PRAYERS[random.nextInt(PROTECTION_PRAYERS.length)].ordinal();
+		}
+	}
+
+	private int attackAnimation(InfernoNPC.Type type)
+	{
+		switch (type)
+		{
+			case NIBBLER:
+				return InfernoPlugin.JAL_NIB;
+			case BAT:
+				return InfernoPlugin.JAL_MEJRAH;
+			case BLOB:
+				return random.nextBoolean() ? InfernoPlugin.JAL_AK_RANGE_ATTACK : InfernoPlugin.JAL_AK_MAGIC_ATTACK;
+			case MELEE:
+				return InfernoPlugin.JAL_IMKOT;
+			case RANGER:
+				return InfernoPlugin.JAL_XIL_RANGE_ATTACK;
+			case MAGE:
+				return InfernoPlugin.JAL_ZEK_MAGE_ATTACK;
+			case JAD:
+				return random.nextBoolean() ? InfernoPlugin.JALTOK_JAD_RANGE_ATTACK : InfernoPlugin.JALTOK_JAD_MAGE_ATTACK;
+			case ZUK:
+				return InfernoPlugin.TZKAL_ZUK;
+			default:
+				return -1;
+		}
+	}
+
+	private static InfernoNPC.Type typeFromLevel(int level)
+	{
+		switch (level)
+		{
+			case 32:
+				return InfernoNPC.Type.NIBBLER;
+			case 85:
+				return InfernoNPC.Type.BAT;
+			case 165:
+				return InfernoNPC.Type.BLOB;
+			case 240:
+				return InfernoNPC.Type.MELEE;
+			case 370:
+				return InfernoNPC.Type.RANGER;
+			case 490:
+				return InfernoNPC.Type.MAGE;
+			case 900:
+				return InfernoNPC.Type.JAD;
+			case 1400:
+				return InfernoNPC.Type.ZUK;
+			default:
+				throw new IllegalArgumentException("Unknown Inferno NPC level " + level);
+		}
+	}
+
+	private final class SyntheticNpc
+	{
+		private final InfernoNPC.Type type;
+		private final int index;
+		private final int size;
+		private int x;
+		private int y;
+		private int cooldown;
+		private int animation = -1;
+
+		private SyntheticNpc(InfernoNPC.Type type, int index, int x, int y)
+		{
+			this.type = type;
+			this.index = index;
+			this.size = type.getSize();
+			this.x = x;
+			this.y = y;
+		}
+
+		private void tick()
+		{
+			animation = -1;
+
+			if (cooldown > 0)
+			{
+				cooldown--;
+			}
+
+			final int targetX;
+			final int targetY;
+			final int targetSize;
+
+			if (type == InfernoNPC.Type.NIBBLER)
+			{
+				final int[] pillar = closestPillar();
+				targetX = pillar[0];
+				targetY = pillar[1];
+				targetSize = InfernoEngineCore.PILLAR_SIZE;
+			}
+			else
+			{
+				targetX = playerX;
+				targetY = playerY;
+				targetSize = 1;
+			}
+
+			final boolean inReach = type.getDefaultAttack() == InfernoNPC.Attack.MELEE
+				? InfernoEngineCore.isInMeleeDistance(x, y, size, targetX, targetY, targetSize)
+				: InfernoEngineCore.distance(x, y, size, targetX, targetY, targetSize) <= Math.min(type.getRange(), MAX_REACH);
+
+			if (inReach)
+			{
+				if (cooldown == 0)
+				{
+					animation = attackAnimation(type);
+					cooldown = type.getAttackSpeed();
+				}
+			}
+			// Zuk doesn't move
+			else if (type != InfernoNPC.Type.ZUK)
+			{
+				occupy(x, y, size, -1);
+				final int point = InfernoEngineCore.nextTravellingPoint(x, y, size, targetX, targetY, targetSize, blocker);
+				x = point >>> 16;
+				y = point & 0xFFFF;
+				occupy(x, y, size, 1);
+			}
+		}
+
+		private int[] closestPillar()
+		{
+			int[] closest = PILLARS[0];
+			int closestDistance = Integer.MAX_VALUE;
+
+			for (int[] pillar : PILLARS)
+			{
+				final int pillarDistance = InfernoEngineCore.distance(x, y, size, pillar[0], pillar[1],
+					InfernoEngineCore.PILLAR_SIZE);
+
+				if (pillarDistance < closestDistance)
+				{
+					closest = pillar;
+					closestDistance = pillarDistance;
+				}
+			}
+
+			return closest;
+		}
+	}
+}
@@ -28,6 +28,8 @@ package net.runelite.client.plugins.inferno;
 
 import com.google.common.collect.ImmutableMap;
 import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -43,6 +45,8 @@ class InfernoWaveMappings
 	private static final Map<Integer, String> npcNameMappingComplex;
 	@Getter(AccessLevel.PACKAGE)
 	private static final Map<Integer, String> npcNameMappingSimple;
+	@Getter(AccessLevel.PACKAGE)
+	private static final Map<Integer, WaveGroup[]> waveGroupMapping;
 
 	static
 	{
@@ -145,13 +149,22 @@ class InfernoWaveMappings
 		nameMapBuilderComplex.put(1400, "TzKal-Zuk");
 
 		npcNameMappingComplex = nameMapBuilderComplex.build();
+
+		ImmutableMap.Builder<Integer, WaveGroup[]> waveGroupMapBuilder = new ImmutableMap.Builder<>();
+
+		for (Map.Entry<Integer, int[]> wave : waveMapping.entrySet())
+		{
+			waveGroupMapBuilder.put(wave.getKey(), compileWave(wave.getValue()));
+		}
+
+		waveGroupMapping = waveGroupMapBuilder.build();
 	}
 
 	static void addWaveComponent(InfernoConfig config, PanelComponent panelComponent, String header, int wave, Color titleColor, Color color)
 	{
-		int[] monsters = waveMapping.get(wave);
+		final WaveGroup[] groups = waveGroupMapping.get(wave);
 
-		if (monsters == null)
+		if (groups == null)
 		{
 			return;
 		}
@@ -163,6 +176,25 @@ class InfernoWaveMappings
 				.build()
 			);
 
+		final InfernoNamingDisplayMode naming = config.npcNaming();
+		final boolean levels = config.npcLevels();
+
+		for (WaveGroup group : groups)
+		{
+			panelComponent.getChildren().add(TitleComponent.builder()
+				.text(group.getText(naming, levels))
+				.color(color)
+				.build());
+		}
+	}
+
+	/**
+	 * Groups consecutive monsters of the same level in a wave, with the row text precomputed
+	 * for every naming mode so the overlay does not have to rebuild it.
+	 */
+	private static WaveGroup[] compileWave(int[] monsters)
+	{
+		final List<WaveGroup> groups = new ArrayList<>();
 
 		for (int i = 0; i < monsters.length; i++)
 		{
@@ -174,28 +206,41 @@ class InfernoWaveMappings
 				count++;
 			}
 
-			TitleComponent.TitleComponentBuilder builder = TitleComponent.builder();
+			groups.add(new WaveGroup(count, monsterType));
+		}
 
-			String npcNameText = "";
+		return groups.toArray(new WaveGroup[0]);
+	}
 
-			if (config.npcNaming() == InfernoNamingDisplayMode.SIMPLE)
-			{
-				npcNameText += npcNameMappingSimple.get(monsterType);
-			}
-			else
-			{
-				npcNameText += npcNameMappingComplex.get(monsterType);
-			}
+	static final class WaveGroup
+	{
+		@Getter(AccessLevel.PACKAGE)
+		private final int count;
+		@Getter(AccessLevel.PACKAGE)
+		private final int monsterType;
+		private final String simpleText;
+		private final String simpleTextWithLevel;
+		private final String complexText;
+		private final String complexTextWithLevel;
+
+		private WaveGroup(int count, int monsterType)
+		{
+			this.count = count;
+			this.monsterType = monsterType;
+			this.simpleText = count + "x " + npcNameMappingSimple.get(monsterType);
+			this.simpleTextWithLevel = simpleText + " (" + monsterType + ")";
+			this.complexText = count + "x " + npcNameMappingComplex.get(monsterType);
+			this.complexTextWithLevel = complexText + " (" + monsterType + ")";
+		}
 
-			if (config.npcLevels())
+		String getText(InfernoNamingDisplayMode naming, boolean levels)
+		{
+			if (naming == InfernoNamingDisplayMode.SIMPLE)
 			{
-				npcNameText += " (" + monsterType + ")";
+				return levels ? simpleTextWithLevel : simpleText;
 			}
 
-			builder.text(count + "x " + npcNameText);
-			builder.color(color);
-
-			panelComponent.getChildren().add(builder.build());
+			return levels ? complexTextWithLevel : complexText;
 		}
 	}
-}
\ No newline at end of file
+}
@@ -5,8 +5,6 @@ import com.google.inject.Singleton;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
-import lombok.AccessLevel;
-import lombok.Setter;
 import static net.runelite.client.plugins.inferno.InfernoWaveMappings.addWaveComponent;
 import net.runelite.client.plugins.inferno.displaymodes.InfernoWaveDisplayMode;
 import net.runelite.client.ui.overlay.Overlay;
@@ -20,15 +18,15 @@ public class InfernoWaveOverlay extends Overlay
 	private final InfernoConfig config;
 	private final PanelComponent panelComponent;
 
-	@Setter(AccessLevel.PACKAGE)
 	private Color waveHeaderColor;
-
-	@Setter(AccessLevel.PACKAGE)
 	private Color waveTextColor;
-
-	@Setter(AccessLevel.PACKAGE)
 	private InfernoWaveDisplayMode displayMode;
 
+	// The panel is only rebuilt when the waves or the display settings change
+	private boolean panelDirty = true;
+	private int panelCurrentWave = -1;
+	private int panelNextWave = -1;
+
 	@Inject
 	InfernoWaveOverlay(final InfernoPlugin plugin, final InfernoConfig config)
 	{
@@ -40,9 +38,51 @@ public class InfernoWaveOverlay extends Overlay
 		panelComponent.setPreferredSize(new Dimension(160, 0));
 	}
 
+	void setWaveHeaderColor(Color waveHeaderColor)
+	{
+		this.waveHeaderColor = waveHeaderColor;
+		invalidate();
+	}
+
+	void setWaveTextColor(Color waveTextColor)
+	{
+		this.waveTextColor = waveTextColor;
+		invalidate();
+	}
+
+	void setDisplayMode(InfernoWaveDisplayMode displayMode)
+	{
+		this.displayMode = displayMode;
+		invalidate();
+	}
+
+	void invalidate()
+	{
+		panelDirty = true;
+	}
+
 	public Dimension render(final Graphics2D graphics)
+	{
+		final long start = InfernoFlightRecorder.startRenderPass();
+		final int currentWave = plugin.getCurrentWaveNumber();
+		final int nextWave = plugin.getNextWaveNumber();
+
+		if (panelDirty || currentWave != panelCurrentWave || nextWave != panelNextWave)
+		{
+			rebuildPanel(currentWave, nextWave);
+		}
+
+		final Dimension dimension = panelComponent.render(graphics);
+		InfernoFlightRecorder.endRenderPass("InfernoWaveOverlay", start);
+		return dimension;
+	}
+
+	private void rebuildPanel(int currentWave, int nextWave)
 	{
 		panelComponent.getChildren().clear();
+		panelDirty = false;
+		panelCurrentWave = currentWave;
+		panelNextWave = nextWave;
 
 		if (displayMode == InfernoWaveDisplayMode.CURRENT ||
 			displayMode == InfernoWaveDisplayMode.BOTH)
@@ -50,8 +90,8 @@ public class InfernoWaveOverlay extends Overlay
 			addWaveComponent(
 				config,
 				panelComponent,
-				"Current Wave (Wave " + plugin.getCurrentWaveNumber() + ")",
-				plugin.getCurrentWaveNumber(),
+				"Current Wave (Wave " + currentWave + ")",
+				currentWave,
 				waveHeaderColor,
 				waveTextColor
 			);
@@ -63,13 +103,11 @@ public class InfernoWaveOverlay extends Overlay
 			addWaveComponent(
 				config,
 				panelComponent,
-				"Next Wave (Wave " + plugin.getNextWaveNumber() + ")",
-				plugin.getNextWaveNumber(),
+				"Next Wave (Wave " + nextWave + ")",
+				nextWave,
 				waveHeaderColor,
 				waveTextColor
 			);
 		}
-
-		return panelComponent.render(graphics);
 	}
 }
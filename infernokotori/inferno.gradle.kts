@@ -34,6 +34,13 @@ dependencies {
     compileOnly(project(":kotoriutils"))
 }
 
+sourceSets {
+    main {
+        // Shared with the inferno and infernolucid plugins
+        java.srcDir("../infernoshared")
+    }
+}
+
 tasks {
     jar {
         manifest {
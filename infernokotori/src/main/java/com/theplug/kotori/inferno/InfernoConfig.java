@@ -140,6 +140,13 @@ public interface InfernoConfig extends Config
 	)
 	String ZukHealersSection = "Zuk Healers";
 
+	@ConfigSection(
+		name = "Performance",
+		description = "Configuration options for Performance",
+		position = 14
+	)
+	String PerformanceSection = "Performance";
+
 
 	@ConfigItem(
 		position = 0,
@@ -902,6 +909,19 @@ public interface InfernoConfig extends Config
 		return false;
 	}
 
+	@ConfigItem(
+		position = 0,
+		keyName = "writeEngineTrace",
+		name = "Write Engine Trace",
+		description = "Write the attacks, safespots and cost of every tick to the inferno-traces folder, " +
+			"to be compared with the other Inferno plugins",
+		section = PerformanceSection
+	)
+	default boolean writeEngineTrace()
+	{
+		return false;
+	}
+
 	@Getter
 	@AllArgsConstructor
 	enum FontStyle
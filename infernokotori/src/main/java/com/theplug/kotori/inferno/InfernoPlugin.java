@@ -108,6 +108,9 @@ public class InfernoPlugin extends Plugin
 	@Inject
 	private InfernoConfig config;
 
+	@Inject
+	private InfernoEngineTrace engineTrace;
+
 	@Getter(AccessLevel.PACKAGE)
 	private InfernoConfig.FontStyle fontStyle = InfernoConfig.FontStyle.BOLD;
 	@Getter(AccessLevel.PACKAGE)
@@ -234,6 +237,7 @@ public class InfernoPlugin extends Plugin
 		zukShieldLastPosition = null;
 		zukShieldBase = null;
 		closestAttack = null;
+		engineTrace.close();
 	}
 	
 	private void init()
@@ -279,20 +283,39 @@ public class InfernoPlugin extends Plugin
 	{
 		if (!isInInferno())
 		{
+			engineTrace.close();
 			return;
 		}
 
 		lastTick = System.currentTimeMillis();
 
+		final boolean writeTrace = config.writeEngineTrace();
+		final long traceAllocationStart = writeTrace ? InfernoEngineTrace.getAllocatedBytes() : 0;
+		final long upcomingStart = System.nanoTime();
+
 		upcomingAttacks.clear();
 		calculateUpcomingAttacks();
 
 		closestAttack = null;
 		calculateClosestAttack();
 
+		final long upcomingNanos = System.nanoTime() - upcomingStart;
+
+		final long safespotStart = System.nanoTime();
+
 		safeSpotMap.clear();
 		calculateSafespots();
 
+		if (writeTrace)
+		{
+			engineTrace.write(client.getTickCount(), currentWaveNumber, upcomingNanos, System.nanoTime() - safespotStart,
+				InfernoEngineTrace.getAllocatedBytes() - traceAllocationStart, closestAttack, upcomingAttacks, safeSpotMap);
+		}
+		else
+		{
+			engineTrace.close();
+		}
+
 		safeSpotAreas.clear();
 		calculateSafespotAreas();
 
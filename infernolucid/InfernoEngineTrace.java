@@ -0,0 +1,18 @@
+package com.lucidplugins.inferno;
+
+import javax.inject.Singleton;
+import net.runelite.client.plugins.infernoshared.EngineTraceWriter;
+
+/**
+ * The {@link EngineTraceWriter} of this plugin, which writes {@link InfernoNPC.Attack} as the attack type.
+ */
+@Singleton
+class InfernoEngineTrace extends EngineTraceWriter
+{
+	static final String VARIANT = "infernolucid";
+
+	InfernoEngineTrace()
+	{
+		super(VARIANT);
+	}
+}
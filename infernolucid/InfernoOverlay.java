@@ -1,6 +1,5 @@
 package com.lucidplugins.inferno;
 
-import com.example.PacketUtils.WidgetInfoExtended;
 import com.google.common.base.Strings;
 import java.awt.BasicStroke;
 import java.awt.Color;
@@ -25,7 +24,6 @@ import net.runelite.api.Point;
 import net.runelite.api.Prayer;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
-import net.runelite.api.widgets.Widget;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPosition;
@@ -41,13 +39,17 @@ public class InfernoOverlay extends Overlay
 	private final InfernoPlugin plugin;
 	private final InfernoConfig config;
 	private final Client client;
+	private final InfernoPrayerWidgetCache prayerWidgetCache;
+	private final Rectangle boxRectangle = new Rectangle();
+	private final Rectangle prayerRectangle = new Rectangle();
 
 	@Inject
-	private InfernoOverlay(final Client client, final InfernoPlugin plugin, final InfernoConfig config)
+	private InfernoOverlay(final Client client, final InfernoPlugin plugin, final InfernoConfig config, final InfernoPrayerWidgetCache prayerWidgetCache)
 	{
 		this.client = client;
 		this.plugin = plugin;
 		this.config = config;
+		this.prayerWidgetCache = prayerWidgetCache;
 		setPosition(OverlayPosition.DYNAMIC);
 		setLayer(OverlayLayer.ABOVE_WIDGETS);
 		setPriority(OverlayPriority.HIGHEST);
@@ -56,10 +58,6 @@ public class InfernoOverlay extends Overlay
 	@Override
 	public Dimension render(Graphics2D graphics)
 	{
-		final Widget meleePrayerWidget = client.getWidget(WidgetInfoExtended.PRAYER_PROTECT_FROM_MELEE.getPackedId());
-		final Widget rangePrayerWidget = client.getWidget(WidgetInfoExtended.PRAYER_PROTECT_FROM_MISSILES.getPackedId());
-		final Widget magicPrayerWidget = client.getWidget(WidgetInfoExtended.PRAYER_PROTECT_FROM_MAGIC.getPackedId());
-
 		if (config.indicateObstacles())
 		{
 			renderObstacles(graphics);
@@ -143,13 +141,7 @@ public class InfernoOverlay extends Overlay
 			}
 		}
 
-		var prayerWidgetHidden =
-			meleePrayerWidget == null
-				|| rangePrayerWidget == null
-				|| magicPrayerWidget == null
-				|| meleePrayerWidget.isHidden()
-				|| rangePrayerWidget.isHidden()
-				|| magicPrayerWidget.isHidden();
+		final boolean prayerWidgetHidden = prayerWidgetCache.isHidden();
 
 		if ((config.prayerDisplayMode() == InfernoPrayerDisplayMode.PRAYER_TAB
 			|| config.prayerDisplayMode() == InfernoPrayerDisplayMode.BOTH)
@@ -464,23 +456,10 @@ public class InfernoOverlay extends Overlay
 		}
 	}
 
-	private Widget getWidget(Prayer prayer)
-	{
-		switch (prayer)
-		{
-			case PROTECT_FROM_MELEE:
-				return client.getWidget(WidgetInfoExtended.PRAYER_PROTECT_FROM_MELEE.getPackedId());
-			case PROTECT_FROM_MISSILES:
-				return client.getWidget(WidgetInfoExtended.PRAYER_PROTECT_FROM_MISSILES.getPackedId());
-			case PROTECT_FROM_MAGIC:
-				return client.getWidget(WidgetInfoExtended.PRAYER_PROTECT_FROM_MAGIC.getPackedId());
-		}
-		return null;
-	}
-
-
 	private void renderDescendingBoxes(Graphics2D graphics)
 	{
+		final int tickOffset = (int) (TICK_PIXEL_SIZE - ((plugin.getLastTick() + 600 - System.currentTimeMillis()) / 600.0 * TICK_PIXEL_SIZE));
+
 		for (Integer tick : plugin.getUpcomingAttacks().keySet())
 		{
 			final Map<InfernoNPC.Attack, Integer> attackPriority = plugin.getUpcomingAttacks().get(tick);
@@ -500,17 +479,19 @@ public class InfernoOverlay extends Overlay
 			{
 				//TODO: Config values for these colors
 				final Color color = (tick == 1 && currentAttack == bestAttack) ? Color.RED : Color.ORANGE;
-				final Widget prayerWidget = getWidget(currentAttack.getPrayer());
+				if (!prayerWidgetCache.isPresent(currentAttack))
+				{
+					continue;
+				}
 
-				int baseX = (int) prayerWidget.getBounds().getX();
-				baseX += prayerWidget.getBounds().getWidth() / 2;
+				int baseX = prayerWidgetCache.getX(currentAttack);
+				baseX += prayerWidgetCache.getWidth(currentAttack) / 2;
 				baseX -= BOX_WIDTH / 2;
 
-				int baseY = (int) prayerWidget.getBounds().getY() - tick * TICK_PIXEL_SIZE - BOX_HEIGHT;
-				baseY += TICK_PIXEL_SIZE - ((plugin.getLastTick() + 600 - System.currentTimeMillis()) / 600.0 * TICK_PIXEL_SIZE);
+				int baseY = prayerWidgetCache.getY(currentAttack) - tick * TICK_PIXEL_SIZE - BOX_HEIGHT;
+				baseY += tickOffset;
 
-				final Rectangle boxRectangle = new Rectangle(BOX_WIDTH, BOX_HEIGHT);
-				boxRectangle.translate(baseX, baseY);
+				boxRectangle.setBounds(baseX, baseY, BOX_WIDTH, BOX_HEIGHT);
 
 				if (currentAttack == bestAttack)
 				{
@@ -545,10 +526,13 @@ public class InfernoOverlay extends Overlay
 
 			if (plugin.getClosestAttack() != prayerForAttack || config.indicateWhenPrayingCorrectly())
 			{
-				final Widget prayerWidget = getWidget(plugin.getClosestAttack().getPrayer());
-				final Rectangle prayerRectangle = new Rectangle((int) prayerWidget.getBounds().getWidth(),
-					(int) prayerWidget.getBounds().getHeight());
-				prayerRectangle.translate((int) prayerWidget.getBounds().getX(), (int) prayerWidget.getBounds().getY());
+				final InfernoNPC.Attack closestAttack = plugin.getClosestAttack();
+				if (!prayerWidgetCache.isPresent(closestAttack))
+				{
+					return;
+				}
+				prayerRectangle.setBounds(prayerWidgetCache.getX(closestAttack), prayerWidgetCache.getY(closestAttack),
+					prayerWidgetCache.getWidth(closestAttack), prayerWidgetCache.getHeight(closestAttack));
 
 				//TODO: Config values for these colors
 				Color prayerColor;
@@ -50,11 +50,15 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.AnimationChanged;
+import net.runelite.api.events.CanvasSizeChanged;
 import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.NpcDespawned;
 import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.events.ResizeableChanged;
+import net.runelite.api.events.VarClientIntChanged;
+import net.runelite.api.events.WidgetLoaded;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
@@ -109,6 +113,12 @@ public class InfernoPlugin extends Plugin
 	@Inject
 	private InfernoConfig config;
 
+	@Inject
+	private InfernoEngineTrace engineTrace;
+
+	@Inject
+	private InfernoPrayerWidgetCache prayerWidgetCache;
+
 	@Getter(AccessLevel.PACKAGE)
 	private InfernoConfig.FontStyle fontStyle = InfernoConfig.FontStyle.BOLD;
 	@Getter(AccessLevel.PACKAGE)
@@ -224,6 +234,7 @@ public class InfernoPlugin extends Plugin
 		infoBoxManager.removeInfoBox(spawnTimerInfoBox);
 
 		currentWaveNumber = -1;
+		engineTrace.close();
 	}
 
 	@Subscribe
@@ -257,22 +268,41 @@ public class InfernoPlugin extends Plugin
 	{
 		if (!isInInferno())
 		{
+			engineTrace.close();
 			return;
 		}
 
 		lastTick = System.currentTimeMillis();
 
+		final boolean writeTrace = config.writeEngineTrace();
+		final long traceAllocationStart = writeTrace ? InfernoEngineTrace.getAllocatedBytes() : 0;
+		final long upcomingStart = System.nanoTime();
+
 		upcomingAttacks.clear();
 		calculateUpcomingAttacks();
 
 		closestAttack = null;
 		calculateClosestAttack();
 
+		final long upcomingNanos = System.nanoTime() - upcomingStart;
+
 		doPraying();
 
+		final long safespotStart = System.nanoTime();
+
 		safeSpotMap.clear();
 		calculateSafespots();
 
+		if (writeTrace)
+		{
+			engineTrace.write(client.getTickCount(), currentWaveNumber, upcomingNanos, System.nanoTime() - safespotStart,
+				InfernoEngineTrace.getAllocatedBytes() - traceAllocationStart, closestAttack, upcomingAttacks, safeSpotMap);
+		}
+		else
+		{
+			engineTrace.close();
+		}
+
 		safeSpotAreas.clear();
 		calculateSafespotAreas();
 
@@ -390,6 +420,34 @@ public class InfernoPlugin extends Plugin
 		}
 	}
 
+	@Subscribe
+	private void onWidgetLoaded(WidgetLoaded event)
+	{
+		if (event.getGroupId() == InfernoPrayerWidgetCache.getPrayerWidgetGroupId())
+		{
+			prayerWidgetCache.invalidate();
+		}
+	}
+
+	@Subscribe
+	private void onCanvasSizeChanged(CanvasSizeChanged event)
+	{
+		prayerWidgetCache.invalidate();
+	}
+
+	@Subscribe
+	private void onResizeableChanged(ResizeableChanged event)
+	{
+		prayerWidgetCache.invalidate();
+	}
+
+	@Subscribe
+	private void onVarClientIntChanged(VarClientIntChanged event)
+	{
+		// Switching side panel tabs is tracked by a client int and toggles the prayer widgets' visibility
+		prayerWidgetCache.onVarClientIntChanged(event.getIndex());
+	}
+
 	@Subscribe
 	private void onNpcSpawned(NpcSpawned event)
 	{
@@ -529,6 +587,8 @@ public class InfernoPlugin extends Plugin
 	@Subscribe
 	private void onGameStateChanged(GameStateChanged event)
 	{
+		prayerWidgetCache.invalidate();
+
 		if (event.getGameState() != GameState.LOGGED_IN)
 		{
 			return;
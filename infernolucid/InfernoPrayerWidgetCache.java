@@ -0,0 +1,60 @@
+package com.lucidplugins.inferno;
+
+import com.example.PacketUtils.WidgetInfoExtended;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.runelite.api.Client;
+import net.runelite.client.plugins.infernoshared.PrayerWidgetCache;
+
+/**
+ * The {@link PrayerWidgetCache} of this plugin's protection prayers, looked up by {@link InfernoNPC.Attack}.
+ */
+@Singleton
+class InfernoPrayerWidgetCache extends PrayerWidgetCache
+{
+	private static final int[] PRAYER_WIDGET_IDS = new int[InfernoNPC.Attack.values().length];
+
+	static
+	{
+		PRAYER_WIDGET_IDS[InfernoNPC.Attack.MELEE.ordinal()] = WidgetInfoExtended.PRAYER_PROTECT_FROM_MELEE.getPackedId();
+		PRAYER_WIDGET_IDS[InfernoNPC.Attack.RANGED.ordinal()] = WidgetInfoExtended.PRAYER_PROTECT_FROM_MISSILES.getPackedId();
+		PRAYER_WIDGET_IDS[InfernoNPC.Attack.MAGIC.ordinal()] = WidgetInfoExtended.PRAYER_PROTECT_FROM_MAGIC.getPackedId();
+		PRAYER_WIDGET_IDS[InfernoNPC.Attack.UNKNOWN.ordinal()] = -1;
+	}
+
+	@Inject
+	InfernoPrayerWidgetCache(final Client client)
+	{
+		super(client, PRAYER_WIDGET_IDS);
+	}
+
+	static int getPrayerWidgetGroupId()
+	{
+		return WidgetInfoExtended.PRAYER_PROTECT_FROM_MELEE.getPackedId() >>> 16;
+	}
+
+	boolean isPresent(InfernoNPC.Attack attack)
+	{
+		return isPresent(attack.ordinal());
+	}
+
+	int getX(InfernoNPC.Attack attack)
+	{
+		return getX(attack.ordinal());
+	}
+
+	int getY(InfernoNPC.Attack attack)
+	{
+		return getY(attack.ordinal());
+	}
+
+	int getWidth(InfernoNPC.Attack attack)
+	{
+		return getWidth(attack.ordinal());
+	}
+
+	int getHeight(InfernoNPC.Attack attack)
+	{
+		return getHeight(attack.ordinal());
+	}
+}
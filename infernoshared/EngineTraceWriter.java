@@ -0,0 +1,157 @@
+package net.runelite.client.plugins.infernoshared;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.RuneLite;
+
+/**
+ * Writes the engine outputs and cost of every tick to a trace file, one tab separated line per tick keyed by the
+ * client's tick count. The inferno, infernokotori and infernolucid plugins all write their traces through this class
+ * to the same folder, so with more than one of them enabled their traces cover the same ticks and can be compared by
+ * the inferno plugin. Each plugin passes its own attack type, which is written by name.
+ */
+@Slf4j
+public class EngineTraceWriter
+{
+	public static final File TRACE_DIR = new File(RuneLite.RUNELITE_DIR, "inferno-traces");
+
+	// The fields of a line
+	public static final int TICK = 0;
+	public static final int WAVE = 1;
+	public static final int UPCOMING_NANOS = 2;
+	public static final int SAFESPOT_NANOS = 3;
+	public static final int ALLOCATED_BYTES = 4;
+	public static final int CLOSEST_ATTACK = 5;
+	public static final int UPCOMING_ATTACKS = 6;
+	public static final int SAFESPOTS = 7;
+	public static final int FIELDS = 8;
+
+	private static final Comparator<WorldPoint> TILE_ORDER = Comparator.comparingInt(WorldPoint::getX)
+		.thenComparingInt(WorldPoint::getY);
+
+	private final String variant;
+	private final List<WorldPoint> safespots = new ArrayList<>();
+	private final StringBuilder line = new StringBuilder();
+	private BufferedWriter writer;
+
+	/**
+	 * @param variant the name of the plugin, which the trace files start with
+	 */
+	protected EngineTraceWriter(final String variant)
+	{
+		this.variant = variant;
+	}
+
+	public <A extends Enum<A>> void write(int tick, int wave, long upcomingNanos, long safespotNanos, long allocatedBytes,
+		A closestAttack, Map<Integer, Map<A, Integer>> upcomingAttacks, Map<WorldPoint, Integer> safeSpotMap)
+	{
+		if (writer == null && !open())
+		{
+			return;
+		}
+
+		line.setLength(0);
+		line.append(tick).append('\t').append(wave)
+			.append('\t').append(upcomingNanos)
+			.append('\t').append(safespotNanos)
+			.append('\t').append(allocatedBytes)
+			.append('\t').append(closestAttack)
+			.append('\t');
+
+		for (Map.Entry<Integer, Map<A, Integer>> ticks : new TreeMap<>(upcomingAttacks).entrySet())
+		{
+			line.append(ticks.getKey()).append(':');
+
+			for (Map.Entry<A, Integer> attack : new TreeMap<>(ticks.getValue()).entrySet())
+			{
+				line.append(attack.getKey()).append('=').append(attack.getValue()).append(',');
+			}
+
+			line.append(';');
+		}
+
+		line.append('\t');
+
+		safespots.clear();
+		safespots.addAll(safeSpotMap.keySet());
+		safespots.sort(TILE_ORDER);
+
+		for (WorldPoint tile : safespots)
+		{
+			line.append(tile.getX()).append(',').append(tile.getY()).append('=').append(safeSpotMap.get(tile)).append(';');
+		}
+
+		try
+		{
+			writer.append(line).append('\n');
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to write Inferno engine trace, stopping", ex);
+			close();
+		}
+	}
+
+	public void close()
+	{
+		if (writer == null)
+		{
+			return;
+		}
+
+		try
+		{
+			writer.close();
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to finish Inferno engine trace", ex);
+		}
+
+		writer = null;
+	}
+
+	/**
+	 * @return the amount of bytes allocated by the current thread so far, or -1 if the JVM can't tell
+	 */
+	public static long getAllocatedBytes()
+	{
+		if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean))
+		{
+			return -1;
+		}
+
+		final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		return threadMXBean.isThreadAllocatedMemoryEnabled() ? threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+	}
+
+	private boolean open()
+	{
+		final File file = new File(TRACE_DIR,
+			variant + "_" + new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date()) + ".trace");
+
+		try
+		{
+			TRACE_DIR.mkdirs();
+			writer = new BufferedWriter(new FileWriter(file));
+			return true;
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to start Inferno engine trace {}", file, ex);
+			return false;
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package net.runelite.client.plugins.infernoshared;
+
+import java.awt.Rectangle;
+import net.runelite.api.Client;
+import net.runelite.api.VarClientInt;
+import net.runelite.api.widgets.Widget;
+
+/**
+ * Caches the bounds and visibility of the protection prayer widgets so the overlays don't have to look the
+ * widgets up every frame. The cache is invalidated by the plugin on widget load, resize and tab switch events
+ * and is refreshed lazily on the next read, after the client has laid the widgets out again.
+ *
+ * <p>Shared by the inferno and infernolucid plugins, which each pass the widget ids of their own attack types,
+ * indexed by the attack's ordinal.
+ */
+public class PrayerWidgetCache
+{
+	private final Client client;
+	// -1 for an attack without a protection prayer
+	private final int[] widgetIds;
+
+	private final boolean[] present;
+	private final int[] x;
+	private final int[] y;
+	private final int[] width;
+	private final int[] height;
+	private boolean hidden = true;
+	private boolean dirty = true;
+
+	protected PrayerWidgetCache(final Client client, final int[] widgetIds)
+	{
+		this.client = client;
+		this.widgetIds = widgetIds;
+		this.present = new boolean[widgetIds.length];
+		this.x = new int[widgetIds.length];
+		this.y = new int[widgetIds.length];
+		this.width = new int[widgetIds.length];
+		this.height = new int[widgetIds.length];
+	}
+
+	public void invalidate()
+	{
+		dirty = true;
+	}
+
+	/**
+	 * Only the side panel tab changes the prayer widgets' visibility, the other client ints are ignored.
+	 */
+	public void onVarClientIntChanged(int index)
+	{
+		if (index == VarClientInt.INVENTORY_TAB)
+		{
+			dirty = true;
+		}
+	}
+
+	/**
+	 * @return true if any of the protection prayers is not loaded or not visible
+	 */
+	public boolean isHidden()
+	{
+		refreshIfDirty();
+		return hidden;
+	}
+
+	public boolean isPresent(int attack)
+	{
+		refreshIfDirty();
+		return present[attack];
+	}
+
+	public int getX(int attack)
+	{
+		return x[attack];
+	}
+
+	public int getY(int attack)
+	{
+		return y[attack];
+	}
+
+	public int getWidth(int attack)
+	{
+		return width[attack];
+	}
+
+	public int getHeight(int attack)
+	{
+		return height[attack];
+	}
+
+	private void refreshIfDirty()
+	{
+		if (!dirty)
+		{
+			return;
+		}
+
+		dirty = false;
+		hidden = false;
+
+		for (int index = 0; index < widgetIds.length; index++)
+		{
+			if (widgetIds[index] == -1)
+			{
+				present[index] = false;
+				continue;
+			}
+
+			final Widget widget = client.getWidget(widgetIds[index]);
+
+			if (widget == null)
+			{
+				present[index] = false;
+				hidden = true;
+				continue;
+			}
+
+			final Rectangle bounds = widget.getBounds();
+
+			present[index] = true;
+			hidden |= widget.isHidden();
+			x[index] = bounds.x;
+			y[index] = bounds.y;
+			width[index] = bounds.width;
+			height[index] = bounds.height;
+		}
+	}
+}